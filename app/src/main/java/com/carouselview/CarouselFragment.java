@@ -30,6 +30,13 @@ public class CarouselFragment extends Fragment implements ListLayoutPanel.OnScro
 
     private CarouselView mCarouselView;
 
+    private View.OnClickListener mEmptyClickListener = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            // Do nothing
+        }
+    };
+
     @Nullable
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
@@ -40,8 +47,9 @@ public class CarouselFragment extends Fragment implements ListLayoutPanel.OnScro
     public void onViewCreated(View view, Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         mCarouselView = (CarouselView) view.findViewById(R.id.carouselView);
-        for (View stubItem : initStubItems()) {
-            mCarouselView.addView(stubItem);
+        // Panels are built in background, so the first frame isn't delayed
+        for (CarouselView.CarouselItemFactory stubItem : initStubItems()) {
+            mCarouselView.addViewAsync(stubItem, mEmptyClickListener);
         }
 
         mCarouselView.notifyDataSetChanged();
@@ -49,50 +57,58 @@ public class CarouselFragment extends Fragment implements ListLayoutPanel.OnScro
         view.findViewById(R.id.prev).setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                int position = mCarouselView.getSelectedItemPosition() == 0 ? mCarouselView.getCount() - 1 : mCarouselView.getSelectedItemPosition() - 1;
-                mCarouselView.scrollToChild(position);
-                mCarouselView.invalidate();
+                mCarouselView.previous();
             }
         });
 
         view.findViewById(R.id.next).setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                int position = mCarouselView.getSelectedItemPosition() == mCarouselView.getCount() - 1 ? 0 : mCarouselView.getSelectedItemPosition() + 1;
-                mCarouselView.scrollToChild(position);
-                mCarouselView.invalidate();
+                mCarouselView.next();
             }
         });
     }
 
     // Stub items
-    private List<View> initStubItems() {
-        List<View> result = new ArrayList<>();
-
-        ImagePanel imagePanel = new ImagePanel(getActivity());
-        imagePanel.setImageResId(R.drawable.iron_man);
-        result.add(imagePanel);
-
-        imagePanel = new ImagePanel(getActivity());
-        imagePanel.setImageResId(R.drawable.natasha);
-        result.add(imagePanel);
+    private List<CarouselView.CarouselItemFactory> initStubItems() {
+        List<CarouselView.CarouselItemFactory> result = new ArrayList<>();
 
-        imagePanel = new ImagePanel(getActivity());
-        imagePanel.setImageResId(R.drawable.tor);
-        result.add(imagePanel);
+        result.add(imagePanelFactory(R.drawable.iron_man));
+        result.add(imagePanelFactory(R.drawable.natasha));
+        result.add(imagePanelFactory(R.drawable.tor));
 
-        LayoutPanel layoutPanel = new LayoutPanel(getActivity());
-        result.add(layoutPanel);
+        result.add(new CarouselView.CarouselItemFactory() {
+            @Override
+            public View createView(LayoutInflater inflater) {
+                return new LayoutPanel(inflater.getContext());
+            }
+        });
 
-        ListLayoutPanel listLayoutPanel = new ListLayoutPanel(getActivity());
-        listLayoutPanel.setOnScrollListener(this);
-        result.add(listLayoutPanel);
+        result.add(new CarouselView.CarouselItemFactory() {
+            @Override
+            public View createView(LayoutInflater inflater) {
+                ListLayoutPanel listLayoutPanel = new ListLayoutPanel(inflater.getContext());
+                listLayoutPanel.setOnScrollListener(CarouselFragment.this);
+                return listLayoutPanel;
+            }
+        });
 
         return result;
     }
 
+    private CarouselView.CarouselItemFactory imagePanelFactory(final int imageResId) {
+        return new CarouselView.CarouselItemFactory() {
+            @Override
+            public View createView(LayoutInflater inflater) {
+                ImagePanel imagePanel = new ImagePanel(inflater.getContext());
+                imagePanel.setImageResId(imageResId);
+                return imagePanel;
+            }
+        };
+    }
+
     @Override
-    public void onScroll() {
-        mCarouselView.invalidate();
+    public void onScroll(ListLayoutPanel panel) {
+        mCarouselView.invalidateItem(panel);
     }
 }
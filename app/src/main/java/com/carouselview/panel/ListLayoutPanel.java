@@ -16,7 +16,7 @@ import com.carouselview.R;
 public class ListLayoutPanel extends BasePanel {
 
     public interface OnScrollListener {
-        void onScroll();
+        void onScroll(ListLayoutPanel panel);
     }
 
     private OnScrollListener mOnScrollListener;
@@ -57,14 +57,14 @@ public class ListLayoutPanel extends BasePanel {
             @Override
             public void onScrollStateChanged(AbsListView view, int scrollState) {
                 if(mOnScrollListener != null) {
-                    mOnScrollListener.onScroll();
+                    mOnScrollListener.onScroll(ListLayoutPanel.this);
                 }
             }
 
             @Override
             public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
                 if(mOnScrollListener != null) {
-                    mOnScrollListener.onScroll();
+                    mOnScrollListener.onScroll(ListLayoutPanel.this);
                 }
             }
         });
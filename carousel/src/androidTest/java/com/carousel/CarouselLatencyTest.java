@@ -0,0 +1,136 @@
+package com.carousel;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewConfiguration;
+import android.widget.FrameLayout;
+
+/**
+ * Checks that input latency of a drag is measured up to the drawing of the
+ * frame which has applied the batched drag, not up to an earlier drawing.
+ */
+public class CarouselLatencyTest extends InstrumentationTestCase {
+
+    private static final int ITEM_COUNT = 3;
+
+    /**
+     * Time spent in the frame before the carousel is drawn, the measured
+     * latency can't be shorter.
+     */
+    private static final long FRAME_DELAY_MILLIS = 30;
+
+    private CarouselView mCarouselView;
+    private Canvas mCanvas;
+    private int mTouchSlop;
+    private long mDownTime;
+
+    private int mReportCount;
+    private int mReportedKind;
+    private float mReportedP50Millis;
+    private int mReportedSampleCount;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                FrameLayout parent = new FrameLayout(getInstrumentation().getTargetContext());
+                mCarouselView = new CarouselView(getInstrumentation().getTargetContext());
+                for (int i = 0; i < ITEM_COUNT; i++) {
+                    mCarouselView.addView(new View(getInstrumentation().getTargetContext()));
+                }
+                parent.addView(mCarouselView);
+                parent.measure(MeasureSpec.makeMeasureSpec(800, MeasureSpec.EXACTLY),
+                        MeasureSpec.makeMeasureSpec(600, MeasureSpec.EXACTLY));
+                parent.layout(0, 0, 800, 600);
+
+                mCarouselView.setOnLatencyListener(new CarouselView.OnLatencyListener() {
+                    @Override
+                    public void onLatencyReport(CarouselView carouselView, int kind,
+                            float p50Millis, float p90Millis, float p99Millis, int sampleCount) {
+                        mReportCount++;
+                        mReportedKind = kind;
+                        mReportedP50Millis = p50Millis;
+                        mReportedSampleCount = sampleCount;
+                    }
+                });
+                mCanvas = new Canvas(Bitmap.createBitmap(800, 600, Bitmap.Config.ARGB_8888));
+                mTouchSlop = ViewConfiguration.get(mCarouselView.getContext())
+                        .getScaledTouchSlop();
+            }
+        });
+    }
+
+    public void testDragIsMeasuredToTheFrameWhichAppliesIt() throws Exception {
+        final float startX = 400.0f;
+        mDownTime = SystemClock.uptimeMillis();
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                dispatchTouchEvent(MotionEvent.ACTION_DOWN, startX);
+            }
+        });
+
+        for (int i = 1; i <= LatencyTracker.REPORT_INTERVAL; i++) {
+            final float x = startX - 2 * mTouchSlop - 4 * i;
+            getInstrumentation().runOnMainSync(new Runnable() {
+                @Override
+                public void run() {
+                    dispatchTouchEvent(MotionEvent.ACTION_MOVE, x);
+                    // The drag is applied by the next frame, this drawing shows nothing new
+                    mCarouselView.draw(mCanvas);
+                }
+            });
+            drawNextFrame();
+        }
+
+        assertEquals(1, mReportCount);
+        assertEquals(CarouselView.LATENCY_INPUT, mReportedKind);
+        assertEquals(LatencyTracker.REPORT_INTERVAL, mReportedSampleCount);
+        assertTrue("Latency " + mReportedP50Millis + " ms ends before the drag is drawn",
+                mReportedP50Millis >= FRAME_DELAY_MILLIS);
+    }
+
+    /* ***************************************************************************** */
+    /* ******************************** Utility API ******************************** */
+    /* ***************************************************************************** */
+
+    /**
+     * Draws the carousel in the next frame, after the frame callback of the
+     * carousel has run.
+     */
+    private void drawNextFrame() throws InterruptedException {
+        final CountDownLatch drawn = new CountDownLatch(1);
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+                    @Override
+                    public void doFrame(long frameTimeNanos) {
+                        SystemClock.sleep(FRAME_DELAY_MILLIS);
+                        mCarouselView.draw(mCanvas);
+                        drawn.countDown();
+                    }
+                });
+            }
+        });
+        assertTrue(drawn.await(1, TimeUnit.SECONDS));
+    }
+
+    private void dispatchTouchEvent(int action, float x) {
+        MotionEvent event = MotionEvent.obtain(mDownTime, SystemClock.uptimeMillis(), action, x,
+                300.0f, 0);
+        mCarouselView.dispatchTouchEvent(event);
+        event.recycle();
+    }
+}
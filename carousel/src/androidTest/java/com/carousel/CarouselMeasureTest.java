@@ -0,0 +1,70 @@
+package com.carousel;
+
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.view.View.MeasureSpec;
+
+/**
+ * Checks that items are measured only when their measure specs or their
+ * content have changed.
+ */
+public class CarouselMeasureTest extends AndroidTestCase {
+
+    private static final int ITEM_COUNT = 3;
+
+    private CarouselView mCarouselView;
+    private View[] mContents;
+    private int mWidthMeasureSpec;
+    private int mHeightMeasureSpec;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mCarouselView = new CarouselView(getContext());
+        mContents = new View[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            mContents[i] = new View(getContext());
+            mCarouselView.addView(mContents[i]);
+        }
+        mWidthMeasureSpec = MeasureSpec.makeMeasureSpec(800, MeasureSpec.EXACTLY);
+        mHeightMeasureSpec = MeasureSpec.makeMeasureSpec(600, MeasureSpec.EXACTLY);
+
+        // Items become children of the carousel in layout
+        mCarouselView.measure(mWidthMeasureSpec, mHeightMeasureSpec);
+        mCarouselView.layout(0, 0, 800, 600);
+    }
+
+    public void testUnchangedSpecsDoNotMeasureItems() {
+        int[] counts = getMeasureCounts();
+
+        mCarouselView.forceLayout();
+        mCarouselView.measure(mWidthMeasureSpec, mHeightMeasureSpec);
+
+        int[] newCounts = getMeasureCounts();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            assertEquals("Item " + i + " has been measured again", counts[i], newCounts[i]);
+        }
+    }
+
+    public void testLayoutRequestMeasuresOnlyThatItem() {
+        int[] counts = getMeasureCounts();
+
+        mContents[1].requestLayout();
+        mCarouselView.measure(mWidthMeasureSpec, mHeightMeasureSpec);
+
+        int[] newCounts = getMeasureCounts();
+        assertEquals(counts[0], newCounts[0]);
+        assertEquals(counts[1] + 1, newCounts[1]);
+        assertEquals(counts[2], newCounts[2]);
+    }
+
+    private int[] getMeasureCounts() {
+        int[] counts = new int[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            CarouselItemHolder item = (CarouselItemHolder) mCarouselView.getAdapter().getView(i,
+                    null, null);
+            counts[i] = item.getMeasureCount();
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,109 @@
+package com.carousel;
+
+import android.content.Context;
+import android.util.Log;
+import android.view.InflateException;
+import android.view.LayoutInflater;
+import android.view.View;
+
+/**
+ * Builds carousel item content on a worker thread and attaches it to the item
+ * holders on the main thread in the order of requests. Layouts which fail to
+ * inflate off the main thread (e.g. views creating a handler in constructor)
+ * are inflated again on the main thread. Factories of
+ * {@link CarouselView.MainThreadItemFactory} are called on the main thread
+ * only.
+ * <p>
+ * Views are created with the carousel's own context and its shared inflater.
+ * The inflater serializes inflation, so the worker and the main thread never
+ * inflate at the same time with it.
+ *
+ * @author Carousel View
+ */
+final class AsyncItemInflater {
+
+    private static final String TAG = "AsyncItemInflater";
+
+    private final LayoutInflater mInflater;
+
+    AsyncItemInflater(Context context) {
+        mInflater = LayoutInflater.from(context);
+    }
+
+    /**
+     * Builds content of the item holder in background. The holder shows its
+     * placeholder until content is attached.
+     *
+     * @param holder
+     *            item holder created as a placeholder
+     * @param factory
+     *            factory of the item content
+     */
+    void inflate(final CarouselItemHolder holder, final CarouselView.CarouselItemFactory factory) {
+        CarouselExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                View created = null;
+                RuntimeException failure = null;
+                if (!(factory instanceof CarouselView.MainThreadItemFactory)) {
+                    try {
+                        created = createView(factory);
+                    } catch (RuntimeException e) {
+                        failure = e;
+                    }
+                }
+                final View content = created;
+                final RuntimeException error = failure;
+                CarouselExecutors.mainThread().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (null != error) {
+                            // A bug of the factory, not a threading problem
+                            throw error;
+                        }
+                        View result = content;
+                        if (null == result) {
+                            // Fall back to the main thread
+                            result = factory.createView(mInflater);
+                        }
+                        holder.setContent(result);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Provides factory which inflates layout resource.
+     *
+     * @param layoutResId
+     *            layout resource id
+     * @return factory of the item content
+     */
+    static CarouselView.CarouselItemFactory layoutFactory(final int layoutResId) {
+        return new CarouselView.CarouselItemFactory() {
+            @Override
+            public View createView(LayoutInflater inflater) {
+                return inflater.inflate(layoutResId, null);
+            }
+        };
+    }
+
+    /* ***************************************************************************** */
+    /* ******************************** Utility API ******************************** */
+    /* ***************************************************************************** */
+
+    /**
+     * @return content, or <code>null</code> if it has to be inflated on the
+     *         main thread
+     */
+    private View createView(CarouselView.CarouselItemFactory factory) {
+        try {
+            return factory.createView(mInflater);
+        } catch (InflateException e) {
+            // Typically caused by a view which needs a looper
+            Log.w(TAG, "Item content is inflated again on the main thread", e);
+            return null;
+        }
+    }
+}
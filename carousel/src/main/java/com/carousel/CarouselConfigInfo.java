@@ -60,11 +60,6 @@ class CarouselConfigInfo {
      */
     static final int ANIMATION_DURATION = 200;
 
-    /**
-     * Default value for rotation scroll threshold.
-     */
-    static final int SCROLLING_THRESHOLD = 150;
-
     /**
      * Default min alpha value.
      */
@@ -84,4 +79,50 @@ class CarouselConfigInfo {
      * Configures vertical shift of non-front items.
      */
     static final float CAROUSEL_ITEM_Y_POSITION= 1.0f;
+
+    /**
+     * Default quantity of items loaded at once from a {@link CarouselDataSource}.
+     */
+    static final int PAGE_SIZE = 20;
+
+    /**
+     * Default quantity of pages kept on each side of the selected page.
+     */
+    static final int PREFETCH_PAGES = 1;
+
+    /**
+     * Default distance in data positions above which a rotation jumps.
+     */
+    static final int LONG_JUMP_THRESHOLD = 10;
+
+    /**
+     * Default interval of auto rotation in milliseconds, 0 disables it.
+     */
+    static final int AUTO_ROTATE_INTERVAL = 0;
+
+    /**
+     * Quantity of key repeats after which a held key steps one more item.
+     */
+    static final int KEY_REPEAT_ACCELERATION = 5;
+
+    /**
+     * Max quantity of items stepped by a single key repeat.
+     */
+    static final int KEY_REPEAT_MAX_STEP = 3;
+
+    /**
+     * Max quantity of items the key navigation target may be ahead of the
+     * front item, so held keys don't pile up steps the rotation can't catch.
+     */
+    static final int KEY_NAVIGATION_MAX_LEAD = 4;
+
+    /**
+     * Rotations smaller than this angle in degrees aren't animated.
+     */
+    static final float MIN_ROTATION_ANGLE = 0.1f;
+
+    /**
+     * Default friction of flings, same as the platform scroll friction.
+     */
+    static final float FLING_FRICTION = 0.015f;
 }
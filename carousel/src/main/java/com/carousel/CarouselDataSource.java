@@ -0,0 +1,111 @@
+package com.carousel;
+
+import java.util.List;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.View;
+
+/**
+ * Supplies items to a {@link CarouselView} page by page. Use it instead of
+ * adding views one by one when the catalog is too big to be kept in memory.
+ * The carousel creates a bounded ring of item views, loads pages around the
+ * selected item on a worker thread and rebinds the views as the ring rotates.
+ *
+ * @param <T>
+ *            type of the items
+ *
+ * @author Carousel View
+ */
+public abstract class CarouselDataSource<T> {
+
+    private OnDataSetChangedListener mOnDataSetChangedListener;
+
+    private final Runnable mDataSetChangedRunnable = new Runnable() {
+        @Override
+        public void run() {
+            dispatchDataSetChanged();
+        }
+    };
+
+    /**
+     * @return quantity of items in this data source
+     */
+    public abstract int getCount();
+
+    /**
+     * Loads a page of items. Called on a worker thread.
+     *
+     * @param offset
+     *            position of the first item to load
+     * @param limit
+     *            quantity of items to load
+     * @return loaded items, never <code>null</code>
+     */
+    public abstract List<T> loadPage(int offset, int limit);
+
+    /**
+     * Creates a view for a carousel item. Called on the main thread.
+     *
+     * @param context
+     *            carousel view context
+     * @return new item view
+     */
+    public abstract View newView(Context context);
+
+    /**
+     * Binds a loaded item to the view created by {@link #newView(Context)}.
+     *
+     * @param view
+     *            item view
+     * @param item
+     *            loaded item
+     * @param position
+     *            position of the item in this data source
+     */
+    public abstract void bindView(View view, T item, int position);
+
+    /**
+     * Binds a placeholder to the view while the page holding the item at the
+     * given position is not loaded yet. Views are reused as the ring rotates,
+     * so the view may still show another item: everything set by
+     * {@link #bindView(View, Object, int)} has to be cleared or hidden.
+     *
+     * @param view
+     *            item view
+     * @param position
+     *            position of the item in this data source
+     */
+    public abstract void bindPlaceholder(View view, int position);
+
+    /**
+     * Notifies that items have been changed and all loaded pages should be
+     * reloaded. May be called on any thread, the carousel is updated on the
+     * main thread.
+     */
+    public final void notifyDataSetChanged() {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            dispatchDataSetChanged();
+        } else {
+            CarouselExecutors.mainThread().post(mDataSetChangedRunnable);
+        }
+    }
+
+    private void dispatchDataSetChanged() {
+        if (null != mOnDataSetChangedListener) {
+            mOnDataSetChangedListener.onDataSetChanged();
+        }
+    }
+
+    void setOnDataSetChangedListener(OnDataSetChangedListener onDataSetChangedListener) {
+        mOnDataSetChangedListener = onDataSetChangedListener;
+    }
+
+    /**
+     * Callback interface used by the carousel to observe data source changes.
+     */
+    interface OnDataSetChangedListener {
+
+        void onDataSetChanged();
+    }
+}
@@ -0,0 +1,56 @@
+package com.carousel;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+/**
+ * Holds threads shared by all carousel views.
+ *
+ * @author Carousel View
+ */
+final class CarouselExecutors {
+
+    /**
+     * Serial worker used for loading and inflating carousel items.
+     */
+    private static final Executor BACKGROUND = Executors
+            .newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }
+                    }, "CarouselWorker");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    private static final Handler MAIN_THREAD = new Handler(Looper.getMainLooper());
+
+    private CarouselExecutors() {
+        /* Utility class */
+    }
+
+    /**
+     * @return serial executor running tasks on a background priority thread
+     */
+    static Executor background() {
+        return BACKGROUND;
+    }
+
+    /**
+     * @return handler of the main thread
+     */
+    static Handler mainThread() {
+        return MAIN_THREAD;
+    }
+}
@@ -0,0 +1,262 @@
+package com.carousel;
+
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+
+/**
+ * Recognizes tap, long press, horizontal drag and fling on the carousel in a
+ * single pass over every event. The direction of a gesture is locked once the
+ * pointer leaves the touch slop: a horizontal gesture drags the carousel, a
+ * vertical one is left to the parent. All thresholds come from
+ * {@link ViewConfiguration}, so they are density independent.
+ *
+ * @author Carousel View
+ */
+final class CarouselGestureRecognizer {
+
+    private static final int STATE_IDLE = 0;
+    private static final int STATE_PRESSED = 1;
+    private static final int STATE_DRAGGING = 2;
+    private static final int STATE_LONG_PRESSED = 3;
+    private static final int STATE_IGNORED = 4;
+
+    private final View mView;
+    private final OnGestureListener mListener;
+
+    private final int mTouchSlop;
+    private final int mMinFlingVelocity;
+    private final int mMaxFlingVelocity;
+
+    /**
+     * Created on the first gesture and kept until {@link #cancel()}.
+     */
+    private VelocityTracker mVelocityTracker;
+
+    private int mState = STATE_IDLE;
+    private int mActivePointerId;
+    private float mDownX;
+    private float mDownY;
+    private float mLastX;
+
+    /**
+     * Distance the view has been moved by during the gesture. Velocity is
+     * tracked in coordinates which don't move with the view, otherwise the
+     * movement of the view would add up to the velocity of the pointer.
+     */
+    private float mViewOffsetX;
+
+    private final Runnable mLongPressRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (mState == STATE_PRESSED) {
+                mState = STATE_LONG_PRESSED;
+                mListener.onLongPress();
+            }
+        }
+    };
+
+    CarouselGestureRecognizer(View view, OnGestureListener listener) {
+        mView = view;
+        mListener = listener;
+        ViewConfiguration configuration = ViewConfiguration.get(view.getContext());
+        mTouchSlop = configuration.getScaledTouchSlop();
+        mMinFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        mMaxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+    }
+
+    /**
+     * @return <code>true</code> while the carousel is dragged
+     */
+    boolean isDragging() {
+        return mState == STATE_DRAGGING;
+    }
+
+    /**
+     * Keeps the gesture continuous after the view itself has been moved, e.g.
+     * by a nested scrolling parent.
+     *
+     * @param dx
+     *            distance in pixels the view has moved along X
+     */
+    void onViewMoved(float dx) {
+        mDownX -= dx;
+        mLastX -= dx;
+        mViewOffsetX += dx;
+    }
+
+    /**
+     * Handles the next event of a gesture.
+     */
+    void onTouchEvent(MotionEvent event) {
+        if (null == mVelocityTracker) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+            mVelocityTracker.clear();
+            mViewOffsetX = 0.0f;
+        }
+        // Historical samples of the event are added too
+        if (mViewOffsetX == 0.0f) {
+            mVelocityTracker.addMovement(event);
+        } else {
+            MotionEvent velocityEvent = MotionEvent.obtain(event);
+            velocityEvent.offsetLocation(mViewOffsetX, 0.0f);
+            mVelocityTracker.addMovement(velocityEvent);
+            velocityEvent.recycle();
+        }
+
+        switch (event.getActionMasked()) {
+        case MotionEvent.ACTION_DOWN:
+            mView.removeCallbacks(mLongPressRunnable);
+            mActivePointerId = event.getPointerId(0);
+            mDownX = mLastX = event.getX();
+            mDownY = event.getY();
+            mState = STATE_PRESSED;
+            mView.postDelayed(mLongPressRunnable, ViewConfiguration.getLongPressTimeout());
+            mListener.onDown(event);
+            break;
+
+        case MotionEvent.ACTION_POINTER_DOWN:
+            // The latest pointer drives the carousel
+            mView.removeCallbacks(mLongPressRunnable);
+            mActivePointerId = event.getPointerId(event.getActionIndex());
+            mLastX = event.getX(event.getActionIndex());
+            break;
+
+        case MotionEvent.ACTION_MOVE:
+            onMove(event);
+            break;
+
+        case MotionEvent.ACTION_POINTER_UP:
+            if (event.getPointerId(event.getActionIndex()) == mActivePointerId) {
+                int newIndex = event.getActionIndex() == 0 ? 1 : 0;
+                mActivePointerId = event.getPointerId(newIndex);
+                mLastX = event.getX(newIndex);
+            }
+            break;
+
+        case MotionEvent.ACTION_UP:
+            mView.removeCallbacks(mLongPressRunnable);
+            if (mState == STATE_DRAGGING) {
+                mVelocityTracker.computeCurrentVelocity(1000, mMaxFlingVelocity);
+                float velocityX = mVelocityTracker.getXVelocity(mActivePointerId);
+                if (Math.abs(velocityX) >= mMinFlingVelocity) {
+                    mListener.onFling(velocityX);
+                } else {
+                    mListener.onRelease();
+                }
+            } else {
+                if (mState == STATE_PRESSED) {
+                    mListener.onTap(event);
+                }
+                mListener.onRelease();
+            }
+            mState = STATE_IDLE;
+            break;
+
+        case MotionEvent.ACTION_CANCEL:
+            mView.removeCallbacks(mLongPressRunnable);
+            if (mState != STATE_IDLE) {
+                mListener.onRelease();
+            }
+            mState = STATE_IDLE;
+            break;
+        }
+    }
+
+    /**
+     * Drops the current gesture without notifying the listener and releases
+     * the velocity tracker.
+     */
+    void cancel() {
+        mView.removeCallbacks(mLongPressRunnable);
+        mState = STATE_IDLE;
+        if (null != mVelocityTracker) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    /* ***************************************************************************** */
+    /* ******************************** Utility API ******************************** */
+    /* ***************************************************************************** */
+
+    private void onMove(MotionEvent event) {
+        int index = event.findPointerIndex(mActivePointerId);
+        if (index < 0) {
+            return;
+        }
+        float x = event.getX(index);
+
+        if (mState == STATE_PRESSED) {
+            float deltaX = Math.abs(x - mDownX);
+            float deltaY = Math.abs(event.getY(index) - mDownY);
+            if ((deltaX <= mTouchSlop) && (deltaY <= mTouchSlop)) {
+                return;
+            }
+            mView.removeCallbacks(mLongPressRunnable);
+            if (deltaX > deltaY) {
+                mState = STATE_DRAGGING;
+            } else {
+                // Vertical gestures belong to the parent
+                mState = STATE_IGNORED;
+                return;
+            }
+        }
+
+        if (mState == STATE_DRAGGING) {
+            float distanceX = mLastX - x;
+            mLastX = x;
+            if (distanceX != 0.0f) {
+                mListener.onDrag(event, distanceX);
+            }
+        }
+    }
+
+    /**
+     * Receives recognized gestures.
+     */
+    interface OnGestureListener {
+
+        /**
+         * A gesture has started.
+         */
+        void onDown(MotionEvent event);
+
+        /**
+         * The pointer has gone up within the touch slop before the long press
+         * timeout.
+         */
+        void onTap(MotionEvent event);
+
+        /**
+         * The pointer has stayed within the touch slop for the long press
+         * timeout.
+         */
+        void onLongPress();
+
+        /**
+         * The carousel is dragged horizontally.
+         *
+         * @param distanceX
+         *            distance along X since the previous call, positive if the
+         *            pointer moves to the left
+         */
+        void onDrag(MotionEvent event, float distanceX);
+
+        /**
+         * A drag has ended fast enough to fling.
+         *
+         * @param velocityX
+         *            velocity along X in pixels per second
+         */
+        void onFling(float velocityX);
+
+        /**
+         * A gesture has ended without a fling.
+         */
+        void onRelease();
+    }
+}
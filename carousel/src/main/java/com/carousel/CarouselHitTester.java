@@ -0,0 +1,120 @@
+package com.carousel;
+
+import android.graphics.Matrix;
+import android.graphics.RectF;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Finds the carousel item under a point. The point is mapped through the
+ * inverse of the item's transformation and tested against the untransformed
+ * bounds of the item, so it works for any transformation. Items are tested
+ * front to back and the first hit wins. Nothing is allocated.
+ * <p>
+ * Most points are resolved by the bounding box of an item, which is exact
+ * while the item is only scaled and translated. The last result is cached
+ * until the carousel changes, because a single gesture asks for the same
+ * point several times.
+ *
+ * @author Carousel View
+ */
+final class CarouselHitTester {
+
+    private final float[] mPoint = new float[2];
+
+    /**
+     * Incremented whenever items are moved, transformed or laid out.
+     */
+    private int mVersion;
+
+    private boolean mCached;
+    private int mCachedVersion;
+    private float mCachedX;
+    private float mCachedY;
+    private CarouselItemHolder mCachedItem;
+
+    /**
+     * Drops the cached result, must be called whenever items are moved,
+     * transformed or laid out.
+     */
+    void invalidate() {
+        mVersion++;
+        // Don't keep a removed item alive
+        mCachedItem = null;
+        mCached = false;
+    }
+
+    /**
+     * @return <code>true</code> if the result for the point is cached
+     */
+    boolean isCached(float x, float y) {
+        return mCached && (mCachedVersion == mVersion) && (mCachedX == x) && (mCachedY == y);
+    }
+
+    /**
+     * @return cached result of the last {@link #findItemAt}
+     */
+    CarouselItemHolder getCachedItem() {
+        return mCachedItem;
+    }
+
+    /**
+     * @param parent
+     *            carousel whose children are tested
+     * @param drawOrder
+     *            indices of children in drawing order, back to front
+     * @param count
+     *            quantity of valid indices in drawOrder
+     * @param x
+     *            X in parent's coordinates
+     * @param y
+     *            Y in parent's coordinates
+     * @return front-most item which contains the point, or <code>null</code>
+     */
+    CarouselItemHolder findItemAt(ViewGroup parent, int[] drawOrder, int count, float x,
+            float y) {
+        CarouselItemHolder result = null;
+        for (int i = count - 1; i >= 0; i--) {
+            View child = parent.getChildAt(drawOrder[i]);
+            if ((child instanceof CarouselItemHolder)
+                    && contains((CarouselItemHolder) child, x, y)) {
+                result = (CarouselItemHolder) child;
+                break;
+            }
+        }
+
+        mCached = true;
+        mCachedVersion = mVersion;
+        mCachedX = x;
+        mCachedY = y;
+        mCachedItem = result;
+        return result;
+    }
+
+    /**
+     * @return <code>true</code> if the transformed item contains the point
+     *         given in parent's coordinates
+     */
+    boolean contains(CarouselItemHolder item, float x, float y) {
+        RectF bounds = item.getHitBounds();
+        if ((null == bounds) || !bounds.contains(x, y)) {
+            return false;
+        }
+        Matrix matrix = item.getCIMatrix();
+        if (matrix.rectStaysRect()) {
+            // The bounding box is the item itself
+            return true;
+        }
+
+        Matrix inverse = item.getInverseCIMatrix();
+        if (null == inverse) {
+            // Collapsed to nothing
+            return false;
+        }
+        mPoint[0] = x - item.getLeft();
+        mPoint[1] = y - item.getTop();
+        inverse.mapPoints(mPoint);
+        return (mPoint[0] >= 0.0f) && (mPoint[0] < item.getWidth()) && (mPoint[1] >= 0.0f)
+                && (mPoint[1] < item.getHeight());
+    }
+}
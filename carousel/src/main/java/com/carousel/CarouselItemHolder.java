@@ -2,23 +2,36 @@ package com.carousel;
 
 import android.content.Context;
 import android.graphics.Matrix;
+import android.graphics.RectF;
 import android.os.Build;
-import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
-import android.widget.FrameLayout;
+import android.view.ViewGroup;
 
 
 /**
  * Carousel item holder. Contains specific information about carousel item.
+ * Hosts the content view directly, the content always fills the holder.
  *
  * @author Carousel view
  */
-class CarouselItemHolder extends FrameLayout implements Comparable<CarouselItemHolder> {
+class CarouselItemHolder extends ViewGroup implements Comparable<CarouselItemHolder> {
 
     private int mIndex;
+    private int mDataPosition = CarouselAdapter.INVALID_POSITION;
+    private boolean mDataBound;
+
+    // Measure specs of the parent used for the last measurement
+    private int mWidthMeasureSpec;
+    private int mHeightMeasureSpec;
+    private boolean mMeasureValid;
+    private int mMeasureCount;
+
+    // Size used unless the carousel measures the holder with exact size
+    private final int mDefaultWidth;
+    private final int mDefaultHeight;
+
     private float mCurrentAngle;
-    private boolean mDrawn;
     private boolean mIsDispatchTouchEventEnable;
 
     private View mContentView;
@@ -31,7 +44,14 @@ class CarouselItemHolder extends FrameLayout implements Comparable<CarouselItemH
 
     private float mlApha;
     // It's needed to find screen coordinates
-    private Matrix mCIMatrix;
+    private final Matrix mCIMatrix = new Matrix();
+    private boolean mHasCIMatrix;
+    // Inverse of mCIMatrix, computed when the item is hit tested
+    private Matrix mInverseCIMatrix;
+    private boolean mInverseValid;
+    // Bounds of the drawn item in parent's coordinates
+    private final RectF mHitBounds = new RectF();
+    private boolean mHitBoundsValid;
     private OnClickListener mOnItemClickListener;
 
     private static final LayoutParams CHILD_PARAMS = new LayoutParams(
@@ -39,7 +59,29 @@ class CarouselItemHolder extends FrameLayout implements Comparable<CarouselItemH
 
     CarouselItemHolder(Context context, View childView) {
         super(context);
-        initWidget(context, childView);
+        mDefaultWidth = getResources().getDimensionPixelSize(R.dimen.carousel_item_width);
+        mDefaultHeight = getResources().getDimensionPixelSize(R.dimen.carousel_item_height);
+        initWidget();
+        setContent(childView);
+    }
+
+    /**
+     * Creates an item holder which shows a placeholder of the default item
+     * size until {@link #setContent(View)} is called.
+     * 
+     * @param context
+     *            carousel view context
+     * @param placeholderResId
+     *            drawable shown while content is not ready, or <code>0</code>
+     */
+    CarouselItemHolder(Context context, int placeholderResId) {
+        super(context);
+        mDefaultWidth = getResources().getDimensionPixelSize(R.dimen.carousel_item_width);
+        mDefaultHeight = getResources().getDimensionPixelSize(R.dimen.carousel_item_height);
+        initWidget();
+        if (0 != placeholderResId) {
+            setBackgroundResource(placeholderResId);
+        }
     }
 
     @Override
@@ -49,6 +91,49 @@ class CarouselItemHolder extends FrameLayout implements Comparable<CarouselItemH
         invalidate();
     }
 
+    @Override
+    public void requestLayout() {
+        super.requestLayout();
+        if (mMeasureValid) {
+            mMeasureValid = false;
+            if (getParent() instanceof CarouselSpinner) {
+                ((CarouselSpinner) getParent()).onItemLayoutRequested(this);
+            }
+        }
+    }
+
+    /**
+     * Holder has the default item size, unless the carousel measures it with
+     * exact size. Content is always measured to fill the holder.
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = resolveSize(mDefaultWidth, widthMeasureSpec);
+        int height = resolveSize(mDefaultHeight, heightMeasureSpec);
+        setMeasuredDimension(width, height);
+
+        if (null != mContentView) {
+            mContentView.measure(MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+        }
+        mMeasureCount++;
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        if (changed) {
+            mHitBoundsValid = false;
+        }
+        if (null != mContentView) {
+            mContentView.layout(0, 0, r - l, b - t);
+        }
+    }
+
+    @Override
+    public boolean shouldDelayChildPressedState() {
+        return false;
+    }
+
     @Override
     public boolean dispatchTouchEvent(MotionEvent ev) {
         return mIsDispatchTouchEventEnable ? super.dispatchTouchEvent(ev) : false;
@@ -76,6 +161,41 @@ class CarouselItemHolder extends FrameLayout implements Comparable<CarouselItemH
         return mContentView;
     }
 
+    /**
+     * @return <code>true</code> if this item was measured with the same specs
+     *         and hasn't requested layout since then
+     */
+    boolean isMeasureValid(int widthMeasureSpec, int heightMeasureSpec) {
+        return mMeasureValid && (widthMeasureSpec == mWidthMeasureSpec)
+                && (heightMeasureSpec == mHeightMeasureSpec);
+    }
+
+    void onMeasured(int widthMeasureSpec, int heightMeasureSpec) {
+        mWidthMeasureSpec = widthMeasureSpec;
+        mHeightMeasureSpec = heightMeasureSpec;
+        mMeasureValid = true;
+    }
+
+    /**
+     * @return how many times this item has been measured, used by tests
+     */
+    int getMeasureCount() {
+        return mMeasureCount;
+    }
+
+    /**
+     * Replaces a placeholder with the content.
+     * 
+     * @param childView
+     *            item content
+     */
+    void setContent(View childView) {
+        mContentView = childView;
+        removeAllViews();
+        setBackground(null);
+        addView(childView, CHILD_PARAMS);
+    }
+
     OnClickListener getOnItemClickListener() {
         return mOnItemClickListener;
     }
@@ -96,6 +216,27 @@ class CarouselItemHolder extends FrameLayout implements Comparable<CarouselItemH
         return mIndex;
     }
 
+    /**
+     * @return position in the data source bound to this item, or
+     *         {@link CarouselAdapter#INVALID_POSITION} if nothing is bound
+     */
+    int getDataPosition() {
+        return mDataPosition;
+    }
+
+    /**
+     * @return <code>true</code> if a loaded item is bound, <code>false</code>
+     *         if a placeholder is shown
+     */
+    boolean isDataBound() {
+        return mDataBound;
+    }
+
+    void setDataPosition(int dataPosition, boolean dataBound) {
+        mDataPosition = dataPosition;
+        mDataBound = dataBound;
+    }
+
     float getCurrentAngle() {
         return mCurrentAngle;
     }
@@ -120,12 +261,29 @@ class CarouselItemHolder extends FrameLayout implements Comparable<CarouselItemH
         return mItemZ;
     }
 
-    boolean isDrawn() {
-        return mDrawn;
+    /**
+     * @return transformation of the last drawing, or <code>null</code> if the
+     *         item hasn't been drawn yet
+     */
+    Matrix getCIMatrix() {
+        return mHasCIMatrix ? mCIMatrix : null;
     }
 
-    Matrix getCIMatrix() {
-        return mCIMatrix;
+    /**
+     * @return inverse of {@link #getCIMatrix()}, or <code>null</code> if the
+     *         item hasn't been drawn yet or the matrix can't be inverted
+     */
+    Matrix getInverseCIMatrix() {
+        if (!mHasCIMatrix) {
+            return null;
+        }
+        if (!mInverseValid) {
+            if (null == mInverseCIMatrix) {
+                mInverseCIMatrix = new Matrix();
+            }
+            mInverseValid = mCIMatrix.invert(mInverseCIMatrix);
+        }
+        return mInverseValid ? mInverseCIMatrix : null;
     }
 
     void setIndex(int index) {
@@ -148,12 +306,38 @@ class CarouselItemHolder extends FrameLayout implements Comparable<CarouselItemH
         mScale = scale;
     }
 
-    void setDrawn(boolean drawn) {
-        mDrawn = drawn;
+    /**
+     * @return bounding box of the drawn item in parent's coordinates, or
+     *         <code>null</code> if the item hasn't been drawn yet. Computed
+     *         once until the item is transformed or laid out differently.
+     */
+    RectF getHitBounds() {
+        if (!mHasCIMatrix) {
+            return null;
+        }
+        if (!mHitBoundsValid) {
+            mHitBounds.set(0.0f, 0.0f, getWidth(), getHeight());
+            mCIMatrix.mapRect(mHitBounds);
+            mHitBounds.offset(getLeft(), getTop());
+            mHitBoundsValid = true;
+        }
+        return mHitBounds;
     }
 
-    void setCIMatrix(Matrix mMatrix) {
-        mCIMatrix = mMatrix;
+    /**
+     * Copies the transformation used to draw the item.
+     *
+     * @return <code>true</code> if the transformation has changed
+     */
+    boolean setCIMatrix(Matrix matrix) {
+        if (mHasCIMatrix && mCIMatrix.equals(matrix)) {
+            return false;
+        }
+        mCIMatrix.set(matrix);
+        mHasCIMatrix = true;
+        mInverseValid = false;
+        mHitBoundsValid = false;
+        return true;
     }
 
     void setItemAlpha(float angleDeg, int minAlpha) {
@@ -166,15 +350,9 @@ class CarouselItemHolder extends FrameLayout implements Comparable<CarouselItemH
         }
     }
 
-    private void initWidget(Context context, View childView) {
-        mContentView = childView;
+    private void initWidget() {
         final LayoutParams params = new LayoutParams(
                 LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
         this.setLayoutParams(params);
-
-        final LayoutInflater inflater = LayoutInflater.from(context);
-        final View view = inflater.inflate(R.layout.carousel_item_holder, this, true);
-        final FrameLayout container = (FrameLayout) view.findViewById(R.id.carousel_item_container);
-        container.addView(childView, CHILD_PARAMS);
     }
 }
\ No newline at end of file
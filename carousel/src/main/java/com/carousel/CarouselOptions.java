@@ -3,7 +3,6 @@ package com.carousel;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.util.AttributeSet;
-import android.util.DisplayMetrics;
 
 /**
  * Defines configuration {@link CarouselOptions} for a {@link CarouselView}.
@@ -56,6 +55,61 @@ public final class CarouselOptions {
      */
     private int mSelectedItem = CarouselConfigInfo.DEFAULT_SELECTED_ITEM;
 
+    /**
+     * Quantity of items loaded at once from a {@link CarouselDataSource}.
+     */
+    private int mPageSize = CarouselConfigInfo.PAGE_SIZE;
+
+    /**
+     * Quantity of pages kept on each side of the selected page.
+     */
+    private int mPrefetchPages = CarouselConfigInfo.PREFETCH_PAGES;
+
+    /**
+     * Drawable shown by items which are being built asynchronously.
+     */
+    private int mPlaceholderResId;
+
+    /**
+     * Fixed size of every item in pixels, <code>0</code> if items are sized by
+     * their content.
+     */
+    private int mPanelWidth;
+    private int mPanelHeight;
+
+    /**
+     * If <code>true</code>, rotation angles are rounded to whole degrees.
+     */
+    private boolean mCompatRotation;
+
+    /**
+     * If <code>true</code>, the resting item of a fling is computed when the
+     * fling starts.
+     */
+    private boolean mPredictiveFling;
+
+    /**
+     * Coefficient of friction applied to flings.
+     */
+    private float mFlingFriction = CarouselConfigInfo.FLING_FRICTION;
+
+    /**
+     * Distance in data positions above which a rotation jumps.
+     */
+    private int mLongJumpThreshold = CarouselConfigInfo.LONG_JUMP_THRESHOLD;
+
+    /**
+     * Interval of auto rotation in milliseconds, <code>0</code> if disabled.
+     */
+    private int mAutoRotateInterval = CarouselConfigInfo.AUTO_ROTATE_INTERVAL;
+    private boolean mAutoRotateForward = true;
+
+    /**
+     * If <code>true</code>, selection is updated only when the carousel
+     * settles.
+     */
+    private boolean mDeferSelection;
+
     /**
      * Creates a new {@link CarouselOptions} object.
      */
@@ -129,7 +183,11 @@ public final class CarouselOptions {
      * @param maxScrollingDistance
      *            max scrolling distance for carousel view.
      * @return this {@link CarouselOptions}
+     * @deprecated Drag distance is converted to rotation using the ring
+     *             radius, so the front item follows the finger and no limit
+     *             is applied. This value is ignored.
      */
+    @Deprecated
     public CarouselOptions maxScrollingDistance(int maxScrollingDistance) {
         mMaxScrollingDistance = maxScrollingDistance;
         return this;
@@ -172,6 +230,173 @@ public final class CarouselOptions {
         return this;
     }
 
+    /**
+     * Specifies quantity of items loaded at once from a
+     * {@link CarouselDataSource}.
+     * 
+     * @param pageSize
+     *            quantity of items in one page, must be positive
+     * @return this {@link CarouselOptions}
+     */
+    public CarouselOptions pageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        mPageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Specifies quantity of pages kept loaded on each side of the page which
+     * holds the selected item. Pages out of this window are dropped.
+     * 
+     * @param prefetchPages
+     *            quantity of pages on each side of the selected page
+     * @return this {@link CarouselOptions}
+     */
+    public CarouselOptions prefetchPages(int prefetchPages) {
+        if (prefetchPages < 0) {
+            throw new IllegalArgumentException("Prefetch pages cannot be negative.");
+        }
+        mPrefetchPages = prefetchPages;
+        return this;
+    }
+
+    /**
+     * Specifies drawable shown by items added with
+     * {@link CarouselView#addViewAsync(int)} until they are built.
+     * 
+     * @param placeholderResId
+     *            drawable resource id, or <code>0</code> for no placeholder
+     * @return this {@link CarouselOptions}
+     */
+    public CarouselOptions placeholder(int placeholderResId) {
+        mPlaceholderResId = placeholderResId;
+        return this;
+    }
+
+    /**
+     * Specifies fixed size of every item. Items aren't measured by their
+     * content in this mode, and ring geometry is calculated only when size of
+     * the carousel view changes.
+     * 
+     * @param panelWidth
+     *            item width in pixels, or <code>0</code> to size items by content
+     * @param panelHeight
+     *            item height in pixels, or <code>0</code> to size items by content
+     * @return this {@link CarouselOptions}
+     */
+    public CarouselOptions panelSize(int panelWidth, int panelHeight) {
+        mPanelWidth = panelWidth;
+        mPanelHeight = panelHeight;
+        return this;
+    }
+
+    /**
+     * Specifies whether rotation angles are rounded to whole degrees with
+     * millisecond timing, as in older versions. By default angles are
+     * continuous and timing uses nanoseconds, which is smooth on high refresh
+     * rate displays.
+     * 
+     * @param compatRotation
+     *            <code>true</code> to round rotation angles to whole degrees
+     * @return this {@link CarouselOptions}
+     */
+    public CarouselOptions compatRotation(boolean compatRotation) {
+        mCompatRotation = compatRotation;
+        return this;
+    }
+
+    /**
+     * Specifies whether the resting item of a fling is predicted when the
+     * fling starts. The fling then decelerates straight into the slot of that
+     * item with a single animation, and
+     * {@link CarouselView.CarouselScrollListener#onPositionChanged(int)} is
+     * called right away with the predicted position.
+     * 
+     * @param predictiveFling
+     *            <code>true</code> to predict the resting item of a fling
+     * @return this {@link CarouselOptions}
+     */
+    public CarouselOptions predictiveFling(boolean predictiveFling) {
+        mPredictiveFling = predictiveFling;
+        return this;
+    }
+
+    /**
+     * Sets the amount of friction applied to flings. Default value is the
+     * platform scroll friction, bigger values stop flings sooner.
+     * 
+     * @param flingFriction
+     *            a dimension-less coefficient of friction, must be positive
+     * @return this {@link CarouselOptions}
+     */
+    public CarouselOptions flingFriction(float flingFriction) {
+        if (flingFriction <= 0) {
+            throw new IllegalArgumentException("Fling friction must be positive.");
+        }
+        mFlingFriction = flingFriction;
+        return this;
+    }
+
+    /**
+     * Sets distance in data positions above which
+     * {@link CarouselView#smoothScrollToDataPosition(int)} jumps, rotating by
+     * a single item instead of passing all items in between.
+     * 
+     * @param longJumpThreshold
+     *            distance in data positions, must be positive
+     * @return this {@link CarouselOptions}
+     */
+    public CarouselOptions longJumpThreshold(int longJumpThreshold) {
+        if (longJumpThreshold <= 0) {
+            throw new IllegalArgumentException("Long jump threshold must be positive.");
+        }
+        mLongJumpThreshold = longJumpThreshold;
+        return this;
+    }
+
+    /**
+     * Makes the carousel rotate by one item every interval, like a slideshow.
+     * Rotation pauses while the carousel is touched, hidden, detached from
+     * window or the device is in power save mode, and nothing is scheduled
+     * while it is paused.
+     * 
+     * @param intervalMillis
+     *            interval between rotations in milliseconds, <code>0</code>
+     *            to disable auto rotation
+     * @param forward
+     *            <code>true</code> to rotate to the next item,
+     *            <code>false</code> to rotate to the previous one
+     * @return this {@link CarouselOptions}
+     */
+    public CarouselOptions autoRotate(int intervalMillis, boolean forward) {
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("Auto rotate interval cannot be negative.");
+        }
+        mAutoRotateInterval = intervalMillis;
+        mAutoRotateForward = forward;
+        return this;
+    }
+
+    /**
+     * Specifies whether selection is updated only when the carousel settles.
+     * During motion only the front item position is tracked, so selected
+     * state, focus and accessibility of item views change once per rotation
+     * instead of on every frame. Use
+     * {@link CarouselView#setOnFrontItemChangedListener(CarouselView.OnFrontItemChangedListener)}
+     * to follow the front item during motion.
+     * 
+     * @param deferSelection
+     *            <code>true</code> to update selection when the carousel
+     *            settles
+     * @return this {@link CarouselOptions}
+     */
+    public CarouselOptions deferSelection(boolean deferSelection) {
+        mDeferSelection = deferSelection;
+        return this;
+    }
+
     /**
      * @return max quantity for carousel view
      */
@@ -230,6 +455,92 @@ public final class CarouselOptions {
         return mSelectedItem;
     }
 
+    /**
+     * @return quantity of items in one page of a data source
+     */
+    int getPageSize() {
+        return mPageSize;
+    }
+
+    /**
+     * @return quantity of pages kept on each side of the selected page
+     */
+    int getPrefetchPages() {
+        return mPrefetchPages;
+    }
+
+    /**
+     * @return placeholder drawable resource id
+     */
+    int getPlaceholder() {
+        return mPlaceholderResId;
+    }
+
+    /**
+     * @return fixed item width in pixels
+     */
+    int getPanelWidth() {
+        return mPanelWidth;
+    }
+
+    /**
+     * @return fixed item height in pixels
+     */
+    int getPanelHeight() {
+        return mPanelHeight;
+    }
+
+    /**
+     * @return <code>true</code> if rotation angles are rounded to whole degrees
+     */
+    boolean isCompatRotation() {
+        return mCompatRotation;
+    }
+
+    /**
+     * @return <code>true</code> if the resting item of a fling is predicted
+     */
+    boolean isPredictiveFling() {
+        return mPredictiveFling;
+    }
+
+    /**
+     * @return coefficient of friction applied to flings
+     */
+    float getFlingFriction() {
+        return mFlingFriction;
+    }
+
+    /**
+     * @return distance in data positions above which a rotation jumps
+     */
+    int getLongJumpThreshold() {
+        return mLongJumpThreshold;
+    }
+
+    /**
+     * @return interval of auto rotation in milliseconds, <code>0</code> if
+     *         disabled
+     */
+    int getAutoRotateInterval() {
+        return mAutoRotateInterval;
+    }
+
+    /**
+     * @return <code>true</code> if auto rotation goes to the next item
+     */
+    boolean isAutoRotateForward() {
+        return mAutoRotateForward;
+    }
+
+    /**
+     * @return <code>true</code> if selection is updated only when the
+     *         carousel settles
+     */
+    boolean isDeferSelection() {
+        return mDeferSelection;
+    }
+
 
     /* ************************************************************************* */
     /* ***************************** Utility API ******************************* */
@@ -251,38 +562,14 @@ public final class CarouselOptions {
 
         mMaxScrollingVelocity = arr.getInt(R.styleable.Carousel_maxScrollingVelocity,
                 CarouselConfigInfo.MAX_SCROLLING_VELOCITY);
-        mMaxScrollingDistance = arr.getInt(R.styleable.Carousel_maxScrollingDistance,
-                CarouselConfigInfo.MAX_SCROLLING_DISTANCE);
-        
-        // Scroll coefficient used for improve touch handling on small density screen
-        mMaxScrollingDistance = mMaxScrollingDistance - getScrollingDistanceCoefficient(context);
+
         mScrollToFlingUncertaintyTimeout = arr.getInt(
                 R.styleable.Carousel_scrollToFlingUncertaintyTimeout,
                 CarouselConfigInfo.SCROLL_TO_FLING_UNCERTAINTY_TIMEOUT);
         mAnimationDuration = arr.getInt(R.styleable.Carousel_animationDuration,
                 CarouselConfigInfo.ANIMATION_DURATION);
         mMinAlpha = arr.getInt(R.styleable.Carousel_minAlpha, CarouselConfigInfo.MIN_ALPHA);
-    }
-
-    private int getScrollingDistanceCoefficient(Context context) {
-        int result = 0;
-        
-        switch (context.getResources().getDisplayMetrics().densityDpi) {
-        case DisplayMetrics.DENSITY_LOW:
-            result = 0;
-        case DisplayMetrics.DENSITY_MEDIUM:
-            result = 0;
-            break;
-        case DisplayMetrics.DENSITY_HIGH:
-            result = 3;
-            break;
-        case DisplayMetrics.DENSITY_XHIGH:
-            result = 4;
-            break;
-        default:
-            result = 8;
-            break;
-        }
-        return result;
+        mPanelWidth = arr.getDimensionPixelSize(R.styleable.Carousel_panel_width, 0);
+        mPanelHeight = arr.getDimensionPixelSize(R.styleable.Carousel_panel_height, 0);
     }
 }
\ No newline at end of file
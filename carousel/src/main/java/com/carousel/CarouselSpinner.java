@@ -1,12 +1,10 @@
 package com.carousel;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import android.content.Context;
 import android.database.DataSetObserver;
-import android.graphics.Matrix;
 import android.graphics.Rect;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -34,6 +32,37 @@ abstract class CarouselSpinner extends CarouselAdapter<SpinnerAdapter> {
     private int mSelectionBottomPadding = 0;
     private DataSetObserver mDataSetObserver;
 
+    /**
+     * Items which requested layout since the last measure pass.
+     */
+    private final List<CarouselItemHolder> mDirtyItems = new ArrayList<CarouselItemHolder>();
+
+    /**
+     * Measure specs used for the last measure pass of all items.
+     */
+    private int mItemsWidthMeasureSpec;
+    private int mItemsHeightMeasureSpec;
+
+    /**
+     * If <code>true</code>, all items must be measured on the next pass.
+     */
+    private boolean mMeasureAllItems = true;
+
+    /**
+     * Fixed size of items, <code>0</code> if items are measured by content.
+     */
+    private int mFixedItemWidth;
+    private int mFixedItemHeight;
+
+    /**
+     * Indices of children sorted by depth, back to front. Shared by drawing and
+     * hit testing, so neither of them allocates.
+     */
+    int[] mDrawOrder = new int[0];
+    private int mDrawOrderCount;
+
+    private final CarouselHitTester mHitTester = new CarouselHitTester();
+
     CarouselSpinner(Context context) {
         super(context);
         initCarouselSpinner();
@@ -162,7 +191,7 @@ abstract class CarouselSpinner extends CarouselAdapter<SpinnerAdapter> {
                     view.setLayoutParams(generateDefaultLayoutParams());
                     mBlockLayoutRequests = false;
                 }
-                measureChild(view, widthMeasureSpec, heightMeasureSpec);
+                measureItem(view, widthMeasureSpec, heightMeasureSpec);
 
                 preferredHeight = getChildHeight(view) + mSpinnerPadding.top
                         + mSpinnerPadding.bottom;
@@ -187,20 +216,53 @@ abstract class CarouselSpinner extends CarouselAdapter<SpinnerAdapter> {
         widthSize = resolveSize(preferredWidth, widthMeasureSpec);
 
         setMeasuredDimension(widthSize, heightSize);
-        
-        for (int index = 0; index < mAdapter.getCount(); ++index) {
-            mRecycler.get(index);
-            View v = mAdapter.getView(index, null, this);
-            mRecycler.put(index, v);
-            measureChild(v, widthMeasureSpec, heightMeasureSpec);
+
+        measureItems(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    /**
+     * Makes all items to have exactly the given size.
+     * 
+     * @param width
+     *            item width, or <code>0</code> to measure items by content
+     * @param height
+     *            item height, or <code>0</code> to measure items by content
+     */
+    void setFixedItemSize(int width, int height) {
+        if ((width != mFixedItemWidth) || (height != mFixedItemHeight)) {
+            mFixedItemWidth = width;
+            mFixedItemHeight = height;
+            mMeasureAllItems = true;
+            requestLayout();
         }
     }
 
+    /**
+     * @return <code>true</code> if all items have fixed size
+     */
+    boolean hasFixedItemSize() {
+        return (mFixedItemWidth > 0) && (mFixedItemHeight > 0);
+    }
+
+    /**
+     * Called by an item when its content requested layout, so the item is
+     * measured again on the next measure pass.
+     * 
+     * @param item
+     *            item which requested layout
+     */
+    void onItemLayoutRequested(CarouselItemHolder item) {
+        mDirtyItems.add(item);
+    }
+
     SpinnerAdapter getAdapter() {
         return mAdapter;
     }
 
     void setAdapter(SpinnerAdapter adapter) {
+        mMeasureAllItems = true;
+        mDirtyItems.clear();
+
         if (null != mAdapter) {
             mAdapter.unregisterDataSetObserver(mDataSetObserver);
             resetList();
@@ -259,18 +321,16 @@ abstract class CarouselSpinner extends CarouselAdapter<SpinnerAdapter> {
     abstract void layout(int delta, boolean animate);
 
     /**
-     * Count item.
+     * Checks whether any item contains the point.
      * 
      * @param x
      *            X in local coordinate
      * @param y
      *            Y in local coordinate
-     * @return The count of the item which contains the specified point, or
-     *         {@link #INVALID_POSITION} if the point does not intersect an
-     *         item.
+     * @return <code>true</code> if the point intersects an item
      */
-    int countItemToPosition(int x, int y) {
-        return getItemToPosition(x, y).size();
+    boolean isItemAt(int x, int y) {
+        return null != findItemAt(x, y);
     }
 
     /**
@@ -340,16 +400,43 @@ abstract class CarouselSpinner extends CarouselAdapter<SpinnerAdapter> {
      *         item.
      */
     int pointToPosition(int x, int y) {
-        int selectedPosition;
-        List<CarouselItemHolder> fitting = getItemToPosition(x, y);
-        Collections.sort(fitting);
-        if (fitting.size() != 0) {
-            selectedPosition = fitting.get(fitting.size() - 1).getIndex();
-        } else {
-            selectedPosition = mSelectedPosition;
+        CarouselItemHolder item = findItemAt(x, y);
+        return null != item ? item.getIndex() : mSelectedPosition;
+    }
+
+    /**
+     * Sorts children by depth into {@link #mDrawOrder}, the farthest child
+     * first. Children are almost sorted between frames, so insertion sort
+     * takes linear time.
+     *
+     * @return quantity of sorted children
+     */
+    int sortChildrenByDepth() {
+        int count = getChildCount();
+        if (mDrawOrder.length < count) {
+            mDrawOrder = new int[count];
+            mDrawOrderCount = 0;
+        }
+        if (mDrawOrderCount != count) {
+            for (int i = 0; i < count; i++) {
+                mDrawOrder[i] = i;
+            }
+            mDrawOrderCount = count;
+            invalidateHitTest();
         }
 
-        return selectedPosition;
+        int[] order = mDrawOrder;
+        for (int i = 1; i < count; i++) {
+            int index = order[i];
+            float z = getItemZ(index);
+            int j = i - 1;
+            while ((j >= 0) && (getItemZ(order[j]) < z)) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+        return count;
     }
 
     /**
@@ -360,41 +447,89 @@ abstract class CarouselSpinner extends CarouselAdapter<SpinnerAdapter> {
         setWillNotDraw(false);
     }
 
-    List<CarouselItemHolder> getItemToPosition(int x, int y) {
-        List<CarouselItemHolder> fitting = new ArrayList<CarouselItemHolder>();
-
-        for (int i = 0; i < mAdapter.getCount(); i++) {
+    /**
+     * Measures all items if measure specs have been changed since the last
+     * pass, otherwise only items which requested layout. A pass without
+     * changes doesn't touch items at all.
+     */
+    private void measureItems(int widthMeasureSpec, int heightMeasureSpec) {
+        if (null == mAdapter) {
+            return;
+        }
 
-            CarouselItemHolder item = (CarouselItemHolder) getChildAt(i);
+        if (hasFixedItemSize()) {
+            // Size of items doesn't depend on the size of this view
+            widthMeasureSpec = MeasureSpec.makeMeasureSpec(mFixedItemWidth, MeasureSpec.EXACTLY);
+            heightMeasureSpec = MeasureSpec.makeMeasureSpec(mFixedItemHeight, MeasureSpec.EXACTLY);
+        }
 
-            Matrix mm = null; 
-            if ((null == item) || (null == (mm = item.getCIMatrix()))) {
-                continue;
+        if (mMeasureAllItems || (widthMeasureSpec != mItemsWidthMeasureSpec)
+                || (heightMeasureSpec != mItemsHeightMeasureSpec)) {
+            mMeasureAllItems = false;
+            mItemsWidthMeasureSpec = widthMeasureSpec;
+            mItemsHeightMeasureSpec = heightMeasureSpec;
+            for (int index = 0; index < mAdapter.getCount(); ++index) {
+                measureItem(mAdapter.getView(index, null, this), widthMeasureSpec,
+                        heightMeasureSpec);
             }
-            float[] pts = new float[3];
-
-            pts[0] = item.getLeft();
-            pts[1] = item.getTop();
-            pts[2] = 0;
+        } else {
+            for (int i = 0; i < mDirtyItems.size(); i++) {
+                measureItem(mDirtyItems.get(i), widthMeasureSpec, heightMeasureSpec);
+            }
+        }
+        mDirtyItems.clear();
+    }
 
-            mm.mapPoints(pts);
+    /**
+     * Measures an item unless it was already measured with the same specs and
+     * its content hasn't requested layout since then.
+     */
+    private void measureItem(View view, int widthMeasureSpec, int heightMeasureSpec) {
+        if (hasFixedItemSize()) {
+            widthMeasureSpec = MeasureSpec.makeMeasureSpec(mFixedItemWidth, MeasureSpec.EXACTLY);
+            heightMeasureSpec = MeasureSpec.makeMeasureSpec(mFixedItemHeight, MeasureSpec.EXACTLY);
+        }
 
-            int mappedLeft = (int) pts[0];
-            int mappedTop = (int) pts[1];
+        if (!(view instanceof CarouselItemHolder)) {
+            measureChild(view, widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
 
-            pts[0] = item.getRight();
-            pts[1] = item.getBottom();
-            pts[2] = 0;
+        CarouselItemHolder item = (CarouselItemHolder) view;
+        if (item.isMeasureValid(widthMeasureSpec, heightMeasureSpec)) {
+            return;
+        }
+        if (hasFixedItemSize()) {
+            item.measure(widthMeasureSpec, heightMeasureSpec);
+        } else {
+            measureChild(item, widthMeasureSpec, heightMeasureSpec);
+        }
+        item.onMeasured(widthMeasureSpec, heightMeasureSpec);
+    }
 
-            mm.mapPoints(pts);
+    /**
+     * @return front-most item which contains the point, or <code>null</code>
+     */
+    CarouselItemHolder findItemAt(int x, int y) {
+        if (mHitTester.isCached(x, y) && (mDrawOrderCount == getChildCount())) {
+            return mHitTester.getCachedItem();
+        }
+        int count = sortChildrenByDepth();
+        return mHitTester.findItemAt(this, mDrawOrder, count, x, y);
+    }
 
-            int mappedRight = (int) pts[0];
-            int mappedBottom = (int) pts[1];
+    /**
+     * Drops cached hit test results. Called whenever items are moved,
+     * transformed or laid out.
+     */
+    void invalidateHitTest() {
+        mHitTester.invalidate();
+    }
 
-            if (mappedLeft < x && mappedRight > x & mappedTop < y && mappedBottom > y)
-                fitting.add(item);
-        }
-        return fitting;
+    private float getItemZ(int index) {
+        View child = getChildAt(index);
+        return (child instanceof CarouselItemHolder) ? ((CarouselItemHolder) child).getItemZ()
+                : 0.0f;
     }
 
     class RecycleBin {
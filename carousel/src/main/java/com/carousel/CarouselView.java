@@ -1,23 +1,32 @@
 package com.carousel;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
+import android.content.BroadcastReceiver;
 import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Rect;
+import android.os.Build;
+import android.os.PowerManager;
+import android.support.v4.view.NestedScrollingChild;
+import android.support.v4.view.NestedScrollingChildHelper;
+import android.support.v4.view.NestedScrollingParent;
+import android.support.v4.view.NestedScrollingParentHelper;
+import android.support.v4.view.ViewCompat;
 import android.util.AttributeSet;
 import android.util.DisplayMetrics;
 import android.view.ContextMenu.ContextMenuInfo;
-import android.view.GestureDetector;
 import android.view.HapticFeedbackConstants;
 import android.view.KeyEvent;
 import android.view.LayoutInflater;
 import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.animation.Transformation;
@@ -29,7 +38,39 @@ import android.widget.BaseAdapter;
  * 
  * @author Carousel View
  */
-public class CarouselView extends CarouselSpinner implements GestureDetector.OnGestureListener {
+public class CarouselView extends CarouselSpinner implements NestedScrollingChild,
+        NestedScrollingParent {
+
+    /**
+     * The carousel is not moving.
+     */
+    public static final int SCROLL_STATE_IDLE = 0;
+
+    /**
+     * The carousel is being dragged by the user.
+     */
+    public static final int SCROLL_STATE_DRAGGING = 1;
+
+    /**
+     * The carousel is rotating to a final position without user input.
+     */
+    public static final int SCROLL_STATE_SETTLING = 2;
+
+    /**
+     * Latency from a touch or key event to the drawing of the rotation it
+     * causes.
+     */
+    public static final int LATENCY_INPUT = 0;
+
+    /**
+     * Latency from the start of a fling to the drawing of its first frame.
+     */
+    public static final int LATENCY_FLING = 1;
+
+    /**
+     * Velocity isn't computed from motion older than this.
+     */
+    private static final long MAX_SCROLLED_INTERVAL_NANOS = 100000000L;
 
     /**
      * The info for adapter context menu
@@ -54,20 +95,19 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
     private View mDownTouchView;
 
     /**
-     * Executes the delta rotations from a fling or scroll movement.
+     * Forwards touch events to the selected item.
      */
-    private FlingRotateRunnable mFlingRunnable = new FlingRotateRunnable();
+    private final ChildTouchDispatcher mChildTouchDispatcher = new ChildTouchDispatcher();
 
     /**
-     * Helper for detecting touch gestures.
+     * Executes the delta rotations from a fling or scroll movement.
      */
-    private GestureDetector mGestureDetector;
+    private FlingRotateRunnable mFlingRunnable = new FlingRotateRunnable();
 
     /**
-     * If <code>true</code>, which scroll is enable in horizontal state,
-     * otherwise in vertical state.
+     * Helper for detecting touch gestures.
      */
-    private boolean mIsHorizontalScroll;
+    private CarouselGestureRecognizer mGestureRecognizer;
 
     /**
      * The currently selected item's child.
@@ -96,6 +136,18 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
 
     private int mCarouselDiameter = 100; // Default value
 
+    /**
+     * Positions of items resting in slots of the ring, filled only for items
+     * of fixed size. Order of values: x, y, z, scale.
+     */
+    private float[] mRestSlotPositions = new float[0];
+    private int mRestSlotCount;
+
+    /**
+     * Output of calculatePosition(), reused to avoid allocations.
+     */
+    private final float[] mItemPosition = new float[4];
+
     private boolean mIsCarouselPanelsDrawingInProgress = false;
 
     private int mSnapshotElementsCount;
@@ -103,7 +155,157 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
     private CarouselScrollListener mCarouselScrollListener;
 
     private boolean mRelayoutAllowed = true;
-    private boolean mOnFlingStarted = false;
+
+    /**
+     * Loads pages of the data source, <code>null</code> if items were added
+     * directly.
+     */
+    private PagedItemLoader<?> mItemLoader;
+
+    /**
+     * Position in the data source of the item shown by the selected view.
+     */
+    private int mSelectedDataPosition;
+
+    /**
+     * Advances the carousel in auto rotation mode. Posted only while auto
+     * rotation is active, so a paused carousel schedules nothing.
+     */
+    private final Runnable mAutoRotateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mAutoRotateScheduled = false;
+            // A step during a drag, fling or key navigation would fight it,
+            // so the step waits for the next interval
+            if (mScrollState == SCROLL_STATE_IDLE) {
+                smoothScrollBy(mCarouselOptions.isAutoRotateForward() ? 1 : -1);
+            }
+            updateAutoRotation();
+        }
+    };
+
+    /**
+     * Item nearest to the front, tracked during motion. Equals the selected
+     * position once the carousel settles.
+     */
+    private int mFrontPosition = INVALID_POSITION;
+
+    private OnFrontItemChangedListener mOnFrontItemChangedListener;
+
+    private OnScrollStateListener mOnScrollStateListener;
+
+    /**
+     * Measures input latency, <code>null</code> unless a listener is set.
+     */
+    private LatencyTracker mLatencyTracker;
+    private int mScrollState = SCROLL_STATE_IDLE;
+
+    /**
+     * Angle added to items since the last onScrolled() call.
+     */
+    private float mPendingScrollAngle;
+    private boolean mScrollPending;
+    private long mLastScrolledNanos;
+
+    /**
+     * Reports scroll of the carousel once per frame.
+     */
+    private final FrameScheduler.FrameClient mScrolledDispatcher = new FrameScheduler.FrameClient() {
+        @Override
+        public boolean doFrame(long frameTimeNanos) {
+            dispatchScrolled(frameTimeNanos);
+            return false;
+        }
+    };
+
+    /**
+     * Drag distance in pixels received since the last frame. Touch panels
+     * may deliver several events per frame, but items are moved once.
+     */
+    private float mPendingDragDistance;
+
+    /**
+     * Applies the drag distance of the last frame.
+     */
+    private final FrameScheduler.FrameClient mDragDispatcher = new FrameScheduler.FrameClient() {
+        @Override
+        public boolean doFrame(long frameTimeNanos) {
+            flushDrag();
+            return false;
+        }
+    };
+
+    /**
+     * Negotiate drags and flings with scrollable parents and with scrollable
+     * content of items.
+     */
+    private NestedScrollingChildHelper mNestedScrollingChildHelper;
+    private NestedScrollingParentHelper mNestedScrollingParentHelper;
+    private final int[] mNestedScrollConsumed = new int[2];
+    private final int[] mNestedScrollOffset = new int[2];
+
+    /**
+     * Scrollable content of the front item which has started nested scrolling
+     * with the carousel. It owns the drag, the carousel rotates only by the
+     * distance the content hasn't consumed.
+     */
+    private View mItemScrollTarget;
+
+    /**
+     * Set once the parent has been asked not to intercept the gesture.
+     */
+    private boolean mInterceptDisallowed;
+
+    private boolean mAutoRotateScheduled;
+    private boolean mTouching;
+    private boolean mAttachedToWindow;
+
+    /**
+     * Resumes or pauses auto rotation when power save mode changes.
+     */
+    private final BroadcastReceiver mPowerSaveModeReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            updateAutoRotation();
+        }
+    };
+
+    private boolean mPowerSaveModeReceiverRegistered;
+
+    private PagedItemLoader.OnPageLoadedListener mOnPageLoadedListener = new PagedItemLoader.OnPageLoadedListener() {
+        @Override
+        public void onPageLoaded(int firstPosition, int count) {
+            for (CarouselItemHolder item : mCarouselItems) {
+                int dataPosition = item.getDataPosition();
+                if (!item.isDataBound() && (dataPosition >= firstPosition)
+                        && (dataPosition < firstPosition + count)) {
+                    item.setDataPosition(dataPosition,
+                            mItemLoader.bind(item.getContentView(), dataPosition));
+                }
+            }
+        }
+    };
+
+    /**
+     * Builds items added with addViewAsync(), created on demand.
+     */
+    private AsyncItemInflater mAsyncItemInflater;
+
+    private CarouselDataSource.OnDataSetChangedListener mOnDataSetChangedListener = new CarouselDataSource.OnDataSetChangedListener() {
+        @Override
+        public void onDataSetChanged() {
+            mItemLoader.reload();
+            mSelectedDataPosition = Math.max(mItemLoader.wrapPosition(mSelectedDataPosition), 0);
+            if (getDataSourceItemCount() != mCarouselItems.size()) {
+                createDataSourceItems();
+            } else {
+                for (CarouselItemHolder item : mCarouselItems) {
+                    item.setDataPosition(INVALID_POSITION, false);
+                }
+                bindDataSourceItems();
+            }
+        }
+    };
     
     private OnClickListener mEmptyClickListener = new OnClickListener() {
         public void onClick(View v) {
@@ -146,15 +348,23 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         
         if (event.getAction() == MotionEvent.ACTION_DOWN) {
             mDownTouchPosition = getDownTouchPosition(event);
+            mChildTouchDispatcher.reset();
         }
 
-        if (mIsHorizontalScroll) {
-            mGestureDetector.onTouchEvent(event);
+        // Auto rotation waits until the user lets the carousel go
+        boolean touching = (event.getAction() != MotionEvent.ACTION_UP)
+                && (event.getAction() != MotionEvent.ACTION_CANCEL);
+        if (touching != mTouching) {
+            mTouching = touching;
+            updateAutoRotation();
         }
 
-        restoreGestureDetectorState(event);
+        mGestureRecognizer.onTouchEvent(event);
 
-        invalidateChildren();
+        if (!mGestureRecognizer.isDragging()) {
+            // While dragging, items are redrawn by the next frame anyway
+            invalidateChildren();
+        }
         if (getSelectedItemPosition() == mDownTouchPosition) {
             if (sendDispatchTouchEventToChild(event)) {
                 mIsSingleTapUp = false;
@@ -177,93 +387,362 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         mCarouselScrollListener = carouselScrollListener;
     }
 
+    /**
+     * Sets listener which is notified whenever another item comes to the
+     * front, also during motion.
+     * 
+     * @param onFrontItemChangedListener
+     *          instance of {@link OnFrontItemChangedListener}
+     */
+    public void setOnFrontItemChangedListener(OnFrontItemChangedListener onFrontItemChangedListener) {
+        mOnFrontItemChangedListener = onFrontItemChangedListener;
+    }
+
+    /**
+     * Sets listener which is notified about scroll state changes and about
+     * every frame of motion.
+     * 
+     * @param onScrollStateListener
+     *          instance of {@link OnScrollStateListener}
+     */
+    public void setOnScrollStateListener(OnScrollStateListener onScrollStateListener) {
+        mOnScrollStateListener = onScrollStateListener;
+    }
+
+    /**
+     * Sets listener which periodically receives percentiles of input latency.
+     * Latency isn't measured without a listener.
+     * 
+     * @param onLatencyListener
+     *          instance of {@link OnLatencyListener} or <code>null</code>
+     */
+    public void setOnLatencyListener(OnLatencyListener onLatencyListener) {
+        mLatencyTracker = (null == onLatencyListener) ? null
+                : new LatencyTracker(this, onLatencyListener);
+    }
+
+    /**
+     * @return one of {@link #SCROLL_STATE_IDLE}, {@link #SCROLL_STATE_DRAGGING}
+     *         or {@link #SCROLL_STATE_SETTLING}
+     */
+    public int getScrollState() {
+        return mScrollState;
+    }
+
     /* ******************************************************************** */
     /* ************************* OnGestureListener ************************ */
     /* ******************************************************************** */
 
-    @Override
-    public boolean onDown(MotionEvent e) {
-        // Kill any existing fling/scroll
-        mFlingRunnable.stop(false);
+    /**
+     * Receives gestures recognized by {@link CarouselGestureRecognizer}. It is
+     * private, so callers of the carousel can't change the gesture state.
+     */
+    private class GestureListener implements CarouselGestureRecognizer.OnGestureListener {
 
-        // /// Don't know yet what for it is
-        // Get the item's view that was touched
-        mDownTouchPosition = getDownTouchPosition(e);
+        @Override
+        public void onDown(MotionEvent e) {
+            // Items keep their angles until the gesture is over
+            mRelayoutAllowed = false;
+            mInterceptDisallowed = false;
+            startNestedScroll(ViewCompat.SCROLL_AXIS_HORIZONTAL);
+            if (null != mLatencyTracker) {
+                mLatencyTracker.cancel();
+            }
 
-        // Must return true to get matching events for this down event.
-        return true;
-    }
+            // Kill any existing fling/scroll
+            mFlingRunnable.stop(false);
+            commitFrontPosition();
+            if (mScrollState == SCROLL_STATE_SETTLING) {
+                // The user has caught the carousel
+                setScrollState(SCROLL_STATE_DRAGGING);
+            }
 
-    @Override
-    public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-        mOnFlingStarted = true;
-        mFlingRunnable.startUsingVelocity((int) (velocityX));
-        return true;
-    }
+            // The touched item has already been found by onTouchEvent
+        }
 
-    @Override
-    public void onLongPress(MotionEvent e) {
-        if (mDownTouchPosition < 0) {
-            return;
+        @Override
+        public void onFling(float velocityX) {
+            flushDrag();
+            if (null != mItemScrollTarget) {
+                // The content flings itself and hands the rest over by nested fling
+                onUp();
+                return;
+            }
+            // Nested scrolling velocity is opposite to the pointer velocity
+            if (dispatchNestedPreFling(-velocityX, 0.0f)) {
+                // The parent has taken the fling
+                onUp();
+            } else {
+                dispatchNestedFling(-velocityX, 0.0f, true);
+                mFlingRunnable.startUsingVelocity((int) (velocityX));
+                if (null != mLatencyTracker) {
+                    mLatencyTracker.onFlingStarted(System.nanoTime());
+                }
+            }
+            stopNestedScroll();
         }
 
-        performHapticFeedback(HapticFeedbackConstants.LONG_PRESS);
-        long id = getItemIdAtPosition(mDownTouchPosition);
-        dispatchLongPress(mDownTouchView, mDownTouchPosition, id);
-    }
+        @Override
+        public void onRelease() {
+            flushDrag();
+            onUp();
+            if (null == mItemScrollTarget) {
+                stopNestedScroll();
+            }
+            mRelayoutAllowed = true;
+        }
 
-    @Override
-    public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
-        float deltaY = e2.getY() - e1.getY();
-        float deltaX = e2.getX() - e1.getX();
-        if (Math.abs(deltaX) > Math.abs(deltaY)) {
-            mIsHorizontalScroll = true;
+        @Override
+        public void onLongPress() {
+            if (mDownTouchPosition < 0) {
+                return;
+            }
+
+            performHapticFeedback(HapticFeedbackConstants.LONG_PRESS);
+            long id = getItemIdAtPosition(mDownTouchPosition);
+            dispatchLongPress(mDownTouchView, mDownTouchPosition, id);
+        }
+
+        @Override
+        public void onDrag(MotionEvent e, float distanceX) {
+            if (null != mItemScrollTarget) {
+                // The content of the item scrolls and reports what it hasn't consumed
+                return;
+            }
             /*
              * Cancels touch event from selected child view.
              */
-            sendDispatchTouchEventToChild(cancelTouch(e1));
+            cancelTouchOfChild(e);
             /*
              * Now's a good time to tell our parent to stop intercepting our events! The user has
-             * moved more than the slop amount, since GestureDetector ensures this before calling
-             * this method. Also, if a parent is more interested in this touch's events than we are,
-             * it would have intercepted them by now (for example, we can assume when a Gallery is
-             * in the ListView, a vertical scroll would not end up in this method since a ListView
-             * would have intercepted it by now).
+             * moved more than the slop amount horizontally. If a parent is more interested in this
+             * touch's events than we are, it would have intercepted them by now (for example, a
+             * vertical scroll of a ListView never gets here). A nested scrolling parent gets its
+             * share of the drag through nested scrolling instead.
              */
-            getParent().requestDisallowInterceptTouchEvent(true);
+            if (!mInterceptDisallowed && !hasNestedScrollingParent()) {
+                mInterceptDisallowed = true;
+                getParent().requestDisallowInterceptTouchEvent(true);
+            }
 
-            trackMotionScroll(getScrollDistance(distanceX));
-            return true;
-        } else {
-            if (Math.abs(deltaY) > CarouselConfigInfo.SCROLLING_THRESHOLD) {
-                mIsHorizontalScroll = false;
+            // The parent may consume a part of the drag first
+            if (dispatchNestedPreScroll((int) distanceX, 0, mNestedScrollConsumed,
+                    mNestedScrollOffset)) {
+                distanceX -= mNestedScrollConsumed[0];
+                mGestureRecognizer.onViewMoved(mNestedScrollOffset[0]);
+            }
+            // The ring has no ends, the rest of the drag is always consumed
+            queueDrag(distanceX);
+            if ((null != mLatencyTracker) && (distanceX != 0.0f)) {
+                // Event time has the uptime base, which is the same clock as System.nanoTime()
+                mLatencyTracker.onInput(e.getEventTime() * 1000000L);
+            }
+            if (dispatchNestedScroll((int) distanceX, 0, 0, 0, mNestedScrollOffset)) {
+                mGestureRecognizer.onViewMoved(mNestedScrollOffset[0]);
             }
         }
-        return true;
+
+        @Override
+        public void onTap(MotionEvent e) {
+            if (getSelectedItemPosition() == mDownTouchPosition) {
+                if (isItemAt((int) e.getX(), (int) e.getY())) {
+                    mIsSingleTapUp = true;
+                }
+            } else {
+                setSelection(e);
+            }
+        }
+    }
+
+    /**
+     * Rotates items by the drag distance at the next frame.
+     */
+    private void queueDrag(float distanceX) {
+        if (distanceX == 0.0f) {
+            return;
+        }
+        setScrollState(SCROLL_STATE_DRAGGING);
+
+        // Movement of all events and their historical samples adds up
+        mPendingDragDistance += distanceX;
+        FrameScheduler.getInstance().add(mDragDispatcher);
     }
 
+    /**
+     * Moves items by the drag distance accumulated since the last frame.
+     */
+    private void flushDrag() {
+        FrameScheduler.getInstance().remove(mDragDispatcher);
+        if (mPendingDragDistance != 0.0f) {
+            float distance = mPendingDragDistance;
+            mPendingDragDistance = 0.0f;
+            trackMotionScroll(pixelsToDegrees(distance));
+        }
+    }
+
+    /* ******************************************************************** */
+    /* ************************ NestedScrollingChild ********************** */
+    /* ******************************************************************** */
+
     @Override
-    public boolean onSingleTapUp(MotionEvent e) {
-        if (getSelectedItemPosition() == mDownTouchPosition) {
-            if (0 != countItemToPosition((int) e.getX(), (int) e.getY())) {
-                mIsSingleTapUp = true;
-                return true;
-            }
-        } else {
-            setSelection(e);
+    public void setNestedScrollingEnabled(boolean enabled) {
+        getNestedScrollingChildHelper().setNestedScrollingEnabled(enabled);
+    }
+
+    @Override
+    public boolean isNestedScrollingEnabled() {
+        return getNestedScrollingChildHelper().isNestedScrollingEnabled();
+    }
+
+    @Override
+    public boolean startNestedScroll(int axes) {
+        return getNestedScrollingChildHelper().startNestedScroll(axes);
+    }
+
+    @Override
+    public void stopNestedScroll() {
+        getNestedScrollingChildHelper().stopNestedScroll();
+    }
+
+    @Override
+    public boolean hasNestedScrollingParent() {
+        return getNestedScrollingChildHelper().hasNestedScrollingParent();
+    }
+
+    @Override
+    public boolean dispatchNestedScroll(int dxConsumed, int dyConsumed, int dxUnconsumed,
+            int dyUnconsumed, int[] offsetInWindow) {
+        return getNestedScrollingChildHelper().dispatchNestedScroll(dxConsumed, dyConsumed,
+                dxUnconsumed, dyUnconsumed, offsetInWindow);
+    }
+
+    @Override
+    public boolean dispatchNestedPreScroll(int dx, int dy, int[] consumed, int[] offsetInWindow) {
+        return getNestedScrollingChildHelper().dispatchNestedPreScroll(dx, dy, consumed,
+                offsetInWindow);
+    }
+
+    @Override
+    public boolean dispatchNestedFling(float velocityX, float velocityY, boolean consumed) {
+        return getNestedScrollingChildHelper().dispatchNestedFling(velocityX, velocityY,
+                consumed);
+    }
+
+    @Override
+    public boolean dispatchNestedPreFling(float velocityX, float velocityY) {
+        return getNestedScrollingChildHelper().dispatchNestedPreFling(velocityX, velocityY);
+    }
+
+    /* ******************************************************************** */
+    /* *********************** NestedScrollingParent ********************** */
+    /* ******************************************************************** */
+
+    /**
+     * Content of the front item scrolls first, the carousel rotates by the
+     * horizontal distance the content hasn't consumed. The content receives
+     * the whole gesture, it isn't cancelled when the drag turns horizontal.
+     * Nested scrolling of the carousel with its own parent is started and
+     * stopped by the gesture of the carousel, not by the content.
+     */
+    @Override
+    public boolean onStartNestedScroll(View child, View target, int nestedScrollAxes) {
+        return isEnabled() && ((nestedScrollAxes & ViewCompat.SCROLL_AXIS_HORIZONTAL) != 0);
+    }
+
+    @Override
+    public void onNestedScrollAccepted(View child, View target, int axes) {
+        getNestedScrollingParentHelper().onNestedScrollAccepted(child, target, axes);
+        mItemScrollTarget = target;
+    }
+
+    @Override
+    public void onStopNestedScroll(View target) {
+        getNestedScrollingParentHelper().onStopNestedScroll(target);
+        mItemScrollTarget = null;
+        flushDrag();
+        if (mScrollState == SCROLL_STATE_DRAGGING) {
+            onUp();
+        }
+        if (!mTouching) {
+            // The gesture of the carousel has ended before the content's one
+            stopNestedScroll();
         }
-        return false;
     }
 
     @Override
-    public void onShowPress(MotionEvent e) {
-        // Do nothing
+    public void onNestedScroll(View target, int dxConsumed, int dyConsumed, int dxUnconsumed,
+            int dyUnconsumed) {
+        queueDrag(dxUnconsumed);
+        dispatchNestedScroll(dxConsumed + dxUnconsumed, dyConsumed, 0, dyUnconsumed, null);
+    }
+
+    @Override
+    public void onNestedPreScroll(View target, int dx, int dy, int[] consumed) {
+        dispatchNestedPreScroll(dx, dy, consumed, null);
+    }
+
+    @Override
+    public boolean onNestedFling(View target, float velocityX, float velocityY,
+            boolean consumed) {
+        if (consumed || (velocityX == 0.0f)) {
+            return false;
+        }
+        flushDrag();
+        mFlingRunnable.startUsingVelocity((int) (-velocityX));
+        return true;
+    }
+
+    @Override
+    public boolean onNestedPreFling(View target, float velocityX, float velocityY) {
+        return dispatchNestedPreFling(velocityX, velocityY);
+    }
+
+    @Override
+    public int getNestedScrollAxes() {
+        return getNestedScrollingParentHelper().getNestedScrollAxes();
     }
 
     @Override
     public boolean dispatchKeyEvent(KeyEvent event) {
-        // Carousel view steals all key events
-        return event.dispatch(this, null, null);
+        // Carousel view steals arrow keys, even if an item has focus
+        if (0 != getKeyDirection(event.getKeyCode())) {
+            return event.dispatch(this, null, null);
+        }
+        return super.dispatchKeyEvent(event);
+    }
+
+    /**
+     * Left and right keys step items. A held key repeats with growing steps,
+     * repeats are merged into the running rotation.
+     */
+    @Override
+    public boolean onKeyDown(int keyCode, KeyEvent event) {
+        int direction = getKeyDirection(keyCode);
+        if ((0 == direction) || !isEnabled() || (getCount() == 0)) {
+            return super.onKeyDown(keyCode, event);
+        }
+
+        int repeatCount = event.getRepeatCount();
+        if (repeatCount == 0) {
+            playSoundEffect(direction > 0 ? SoundEffectConstants.NAVIGATION_LEFT
+                    : SoundEffectConstants.NAVIGATION_RIGHT);
+        }
+        int step = Math.min(1 + repeatCount / CarouselConfigInfo.KEY_REPEAT_ACCELERATION,
+                CarouselConfigInfo.KEY_REPEAT_MAX_STEP);
+        // A repeat dropped by the lead limit moves nothing, so it isn't measured
+        if (mFlingRunnable.navigateBy(direction * step, CarouselConfigInfo.KEY_NAVIGATION_MAX_LEAD)
+                && (null != mLatencyTracker)) {
+            mLatencyTracker.onInput(event.getEventTime() * 1000000L);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean onKeyUp(int keyCode, KeyEvent event) {
+        if ((0 != getKeyDirection(keyCode)) && isEnabled()) {
+            return true;
+        }
+        return super.onKeyUp(keyCode, event);
     }
 
     /**
@@ -347,6 +826,51 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         addView(layoutInflater.inflate(childViewId, null), mEmptyClickListener);
     }
 
+    /**
+     * This method add view to carousel view by id. The layout is inflated on
+     * a worker thread, a placeholder is shown until it is ready.
+     * 
+     * @param childViewId
+     *            id of view.
+     * 
+     * @throws IllegalArgumentException
+     *             Every time when argument equals <code>-1</code>.
+     */
+    public void addViewAsync(int childViewId) {
+        if (-1 == childViewId) {
+            throw new IllegalArgumentException("Child view cannot be null.");
+        }
+        addViewAsync(AsyncItemInflater.layoutFactory(childViewId), mEmptyClickListener);
+    }
+
+    /**
+     * This method add view built by the factory to carousel view and register
+     * a callback to be invoked when this view is clicked. The view is built on
+     * a worker thread, a placeholder is shown until it is ready. Views are
+     * attached in the order they were added.
+     * 
+     * @param factory
+     *            factory of the view.
+     * @param action
+     *            the callback that will run.
+     * 
+     * @throws NullPointerException
+     *             every time when arguments <code>null</code>.
+     */
+    public void addViewAsync(CarouselItemFactory factory, OnClickListener action) {
+        if ((null == factory) || (null == action)) {
+            throw new NullPointerException("Child view factory cannot be null.");
+        }
+        if (null == mAsyncItemInflater) {
+            mAsyncItemInflater = new AsyncItemInflater(getContext());
+        }
+
+        CarouselItemHolder carouselItem = new CarouselItemHolder(getContext(),
+                mCarouselOptions.getPlaceholder());
+        addItemToList(carouselItem, action);
+        mAsyncItemInflater.inflate(carouselItem, factory);
+    }
+
     @Override
     public boolean showContextMenuForChild(View originalView) {
         final int longPressPosition = getPositionForView(originalView);
@@ -358,6 +882,53 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         return dispatchLongPress(originalView, longPressPosition, longPressId);
     }
 
+    /**
+     * Replaces all items of this carousel view with items of the data source.
+     * Only a ring of at most {@link CarouselOptions#maxQuantity(int)} views is
+     * created, its views are rebound while the carousel rotates. Pages of the
+     * data source are loaded in background around the selected item, so
+     * memory usage doesn't depend on the size of the data source.
+     * 
+     * @param dataSource
+     *            data source, or <code>null</code> to remove all items
+     */
+    public <T> void setDataSource(CarouselDataSource<T> dataSource) {
+        if (null != mItemLoader) {
+            mItemLoader.getDataSource().setOnDataSetChangedListener(null);
+            mItemLoader.release();
+            mItemLoader = null;
+        }
+
+        mSelectedDataPosition = 0;
+        if (null != dataSource) {
+            mItemLoader = new PagedItemLoader<T>(dataSource, mCarouselOptions.getPageSize(),
+                    mCarouselOptions.getPrefetchPages(), mOnPageLoadedListener);
+            dataSource.setOnDataSetChangedListener(mOnDataSetChangedListener);
+        }
+        createDataSourceItems();
+    }
+
+    /**
+     * Returns position of the selected item in the data source set by
+     * {@link #setDataSource(CarouselDataSource)}.
+     * 
+     * @return position in the data source, or the selected item position if
+     *         items were added directly
+     */
+    public int getSelectedDataPosition() {
+        return null != mItemLoader ? mSelectedDataPosition : getSelectedItemPosition();
+    }
+
+    /**
+     * Returns options of this carousel view. Call {@link #refresh()} after
+     * changing them.
+     * 
+     * @return instance of {@link CarouselOptions}
+     */
+    public CarouselOptions getCarouselOptions() {
+        return mCarouselOptions;
+    }
+
     /**
      * Jump directly to a specific item in the adapter data.
      */
@@ -397,6 +968,100 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         mFlingRunnable.startUsingDistance(angle);
     }
 
+    /**
+     * Rotates to the next item. Calls made while the carousel is rotating
+     * are added to the running rotation.
+     */
+    public void next() {
+        smoothScrollBy(1);
+    }
+
+    /**
+     * Rotates to the previous item. Calls made while the carousel is rotating
+     * are added to the running rotation.
+     */
+    public void previous() {
+        smoothScrollBy(-1);
+    }
+
+    /**
+     * Rotates by the given quantity of items with animation. Calls made while
+     * the carousel is rotating are accumulated and retarget the running
+     * rotation once per frame, keeping its velocity.
+     * 
+     * @param itemCount
+     *            quantity of items, positive to rotate forward, negative to
+     *            rotate backward
+     */
+    public void smoothScrollBy(int itemCount) {
+        if ((itemCount == 0) || (getCount() == 0)) {
+            return;
+        }
+        mFlingRunnable.navigateBy(itemCount);
+    }
+
+    /**
+     * Rotates to the given position of the data source set by
+     * {@link #setDataSource(CarouselDataSource)}, or to the item position if
+     * items were added directly. Jumps longer than
+     * {@link CarouselOptions#longJumpThreshold(int)} rotate by a single item:
+     * items around the destination are bound at once, and items in between
+     * are never bound, so the cost doesn't depend on the distance.
+     * 
+     * @param position
+     *            destination position
+     */
+    public void smoothScrollToDataPosition(int position) {
+        if (getCount() == 0) {
+            return;
+        }
+        if (null == mItemLoader) {
+            smoothScrollBy(getRingOffset(getSelectedItemPosition(), position));
+            return;
+        }
+
+        int count = mItemLoader.getCount();
+        int distance = ((position - mSelectedDataPosition) % count + count) % count;
+        if (distance > count / 2) {
+            distance -= count;
+        }
+        if (Math.abs(distance) <= mCarouselOptions.getLongJumpThreshold()) {
+            smoothScrollBy(distance);
+            return;
+        }
+
+        // Jump from a settled state, rotation in progress would move the selection
+        mFlingRunnable.mPendingSteps = 0;
+        settleImmediately();
+
+        int step = distance > 0 ? 1 : -1;
+        mSelectedDataPosition = mItemLoader.wrapPosition(position - step);
+        // The front item keeps its content until it rotates away
+        bindDataSourceItems(true);
+        mItemLoader.setCenter(position);
+        smoothScrollBy(step);
+    }
+
+    /**
+     * Redraws only the item which hosts the view. Call it when live content of
+     * an item changes, e.g. on every scroll of a list inside an item, instead
+     * of invalidating the whole carousel.
+     * 
+     * @param view
+     *          content of an item or any view inside it
+     */
+    public void invalidateItem(View view) {
+        View item = view;
+        while ((null != item) && (item.getParent() != this)) {
+            item = (item.getParent() instanceof View) ? (View) item.getParent() : null;
+        }
+        if (null == item) {
+            return;
+        }
+
+        item.invalidate();
+    }
+
     /* ******************************************************************** */
     /* ************************* CarouselSpinner ************************** */
     /* ******************************************************************** */
@@ -407,6 +1072,9 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         if (mIsCarouselPanelsDrawingInProgress) {
             drawCarouselPanels(canvas);
         }
+        if (null != mLatencyTracker) {
+            mLatencyTracker.onFrameDrawn(System.nanoTime());
+        }
     }
 
     @Override
@@ -446,28 +1114,11 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
      */
     @Override
     protected int getChildDrawingOrder(int childCount, int i) {
-        // Sort Carousel items by z coordinate in reverse order
-        ArrayList<CarouselItemHolder> sl = new ArrayList<CarouselItemHolder>();
-        for (int j = 0; j < childCount; j++) {
-            CarouselItemHolder view = (CarouselItemHolder) getAdapter().getView(j, null, null);
-            if (i == 0)
-                view.setDrawn(false);
-            sl.add((CarouselItemHolder) getAdapter().getView(j, null, null));
-        }
-
-        Collections.sort(sl);
-
-        // Get first undrawn item in array and get result index
-        int idx = 0;
-
-        for (CarouselItemHolder civ : sl) {
-            if (!civ.isDrawn()) {
-                civ.setDrawn(true);
-                idx = civ.getIndex();
-                break;
-            }
+        // Sort Carousel items by z coordinate once per drawing pass
+        if ((i == 0) || (mDrawOrder.length < childCount)) {
+            sortChildrenByDepth();
         }
-        return idx;
+        return mDrawOrder[i];
     }
 
     /**
@@ -500,8 +1151,13 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
             return;
         }
 
-        // Update to the new selected position.
-        if (mNextSelectedPosition >= 0) {
+        // Update to the new selected position. A deferred selection lags
+        // behind the front item during motion, the front item stays unless
+        // another item has been selected meanwhile.
+        boolean frontAhead = (mFrontPosition >= 0) && (mFrontPosition < getCount())
+                && (mFrontPosition != mSelectedPosition)
+                && (mNextSelectedPosition == mSelectedPosition);
+        if ((mNextSelectedPosition >= 0) && !frontAhead) {
             setSelectedPositionInt(mNextSelectedPosition);
         }
 
@@ -514,17 +1170,21 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
          */
         // detachAllViewsFromParent();
 
-        mCarouselDiameter = getMeasuredWidth();
+        int count = getAdapter().getCount();
+        if (!hasFixedItemSize()) {
+            mCarouselDiameter = getMeasuredWidth();
 
-        CarouselItemHolder child = (CarouselItemHolder) getAdapter().getView(0, null, null);
+            CarouselItemHolder child = (CarouselItemHolder) getAdapter().getView(0, null, null);
 
-        if (child.getWidth() > 0)
-            mCarouselDiameter = Math.min(getMeasuredWidth(), child.getWidth() * 2);
+            if (child.getWidth() > 0)
+                mCarouselDiameter = Math.min(getMeasuredWidth(), child.getWidth() * 2);
+        } else if (mRestSlotCount != count) {
+            buildRestSlots(count);
+        }
 
-        int count = getAdapter().getCount();
         float angleUnit = 360.0f / count;
 
-        float angleOffset = mSelectedPosition * angleUnit;
+        float angleOffset = getFrontPosition() * angleUnit;
         for (int i = 0; i < getAdapter().getCount(); i++) {
             float angle = angleUnit * i - angleOffset;
             if (angle < 0.0f)
@@ -551,6 +1211,53 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         updateSelectedItemMetadata();
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mAttachedToWindow = true;
+        updateAutoRotation();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        settleImmediately();
+        super.onDetachedFromWindow();
+        mAttachedToWindow = false;
+        mTouching = false;
+        mGestureRecognizer.cancel();
+        FrameScheduler.getInstance().remove(mDragDispatcher);
+        mPendingDragDistance = 0.0f;
+        mItemScrollTarget = null;
+        stopNestedScroll();
+        updateAutoRotation();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        if (visibility != VISIBLE) {
+            settleImmediately();
+        }
+        updateAutoRotation();
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        if (visibility != VISIBLE) {
+            settleImmediately();
+        }
+        updateAutoRotation();
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if (hasFixedItemSize()) {
+            updateFixedGeometry(w);
+        }
+    }
+
     /**
      * Setting up images after layout changed
      */
@@ -566,13 +1273,60 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         mInLayout = false;
     }
 
+    @Override
+    void setSelectionInt(int position, boolean animate) {
+        // Layout keeps a front item which is ahead of the selection, so it
+        // has to be selected first to let any position be selected
+        commitFrontPosition();
+        super.setSelectionInt(position, animate);
+    }
+
     @Override
     protected void setSelectedPositionInt(int position) {
+        int oldPosition = mSelectedPosition;
         super.setSelectedPositionInt(position);
         super.setNextSelectedPositionInt(position);
+        setFrontPosition(position);
 
-        // Updates any metadata we keep about the selected item.
-        updateSelectedItemMetadata();
+        // Updates any metadata we keep about the selected item, if it has changed.
+        if ((oldPosition != position)
+                || (mSelectedChild != getChildAt(position - mFirstPosition))) {
+            updateSelectedItemMetadata();
+        }
+    }
+
+    /**
+     * Tracks the item nearest to the front. Only items of a data source are
+     * rebound here, selection state of views isn't touched.
+     */
+    private void setFrontPosition(int position) {
+        if (position == mFrontPosition) {
+            return;
+        }
+        int oldPosition = mFrontPosition;
+        mFrontPosition = position;
+        onSelectedItemMoved(oldPosition, position);
+
+        if ((null != mOnFrontItemChangedListener) && (position >= 0)) {
+            mOnFrontItemChangedListener.onFrontItemChanged(position);
+        }
+    }
+
+    /**
+     * @return position of the item nearest to the front, may differ from the
+     *         selected position while the carousel is rotating
+     */
+    private int getFrontPosition() {
+        return mFrontPosition >= 0 ? mFrontPosition : mSelectedPosition;
+    }
+
+    /**
+     * Selects the front item if selection has been deferred during motion.
+     */
+    private void commitFrontPosition() {
+        if ((mFrontPosition >= 0) && (mFrontPosition != mSelectedPosition)) {
+            setSelectedPositionInt(mFrontPosition);
+        }
     }
 
     /**
@@ -616,9 +1370,58 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
      */
     public void refresh() {
         mViewCoefficientHolder = getViewCoefficient();
+        applyRotatorOptions();
+        applyPanelSize();
+        updateAutoRotation();
         invalidate();
     }
 
+    /**
+     * Schedules the next auto rotation step if auto rotation is enabled and
+     * the carousel can be seen, otherwise removes the scheduled step.
+     */
+    private void updateAutoRotation() {
+        // May be called by the super constructor, before fields are initialized
+        if ((null == mAutoRotateRunnable) || (null == mCarouselOptions)) {
+            return;
+        }
+        boolean enabled = (mCarouselOptions.getAutoRotateInterval() > 0) && mAttachedToWindow;
+        updatePowerSaveModeReceiver(enabled);
+
+        boolean active = enabled && !mTouching && (getWindowVisibility() == VISIBLE)
+                && isShown() && !isPowerSaveMode();
+        if (active && !mAutoRotateScheduled) {
+            mAutoRotateScheduled = true;
+            postDelayed(mAutoRotateRunnable, mCarouselOptions.getAutoRotateInterval());
+        } else if (!active && mAutoRotateScheduled) {
+            mAutoRotateScheduled = false;
+            removeCallbacks(mAutoRotateRunnable);
+        }
+    }
+
+    private void updatePowerSaveModeReceiver(boolean register) {
+        if ((Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP)
+                || (register == mPowerSaveModeReceiverRegistered)) {
+            return;
+        }
+        mPowerSaveModeReceiverRegistered = register;
+        if (register) {
+            getContext().registerReceiver(mPowerSaveModeReceiver,
+                    new IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED));
+        } else {
+            getContext().unregisterReceiver(mPowerSaveModeReceiver);
+        }
+    }
+
+    private boolean isPowerSaveMode() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            return false;
+        }
+        PowerManager powerManager = (PowerManager) getContext().getSystemService(
+                Context.POWER_SERVICE);
+        return powerManager.isPowerSaveMode();
+    }
+
     private void onUp() {
         if (mFlingRunnable.mRotator.isFinished()) {
             scrollIntoSlots();
@@ -633,40 +1436,152 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
             return; // Nothing to do
         }
 
-        // Find nearest item to the 0 degrees angle
-        int smallestPos = 0;
-        float smallestAngle = 180;
-        float angle;
-        for (int i = 0; i < getAdapter().getCount(); i++) {
-            CarouselItemHolder item = (CarouselItemHolder) getAdapter().getView(i, null, null);
-            angle = item.getCurrentAngle();
-            if (angle > 180.0f)
-                angle = (360.0f - angle);
-            if (angle < smallestAngle) {
-                smallestAngle = angle;
-                smallestPos = i;
-            }
-        }
-
-        CarouselItemHolder item = (CarouselItemHolder) getAdapter()
-                .getView(smallestPos, null, null);
-        angle = item.getCurrentAngle();
+        CarouselItemHolder item = findNearestItem();
+        float angle = item.getCurrentAngle();
 
         // Make it minimum to rotate
         if (angle > 180.0f)
             angle = -(360.0f - angle);
 
-        // Start rotation if still more than 1 degree to rotate
-        if (Math.abs(angle) > 1) {
+        // Start rotation if still more than min angle to rotate
+        if (Math.abs(angle) > getMinRotationAngle()) {
             mFlingRunnable.startUsingDistance(-angle);
         } else {
-            int position = item.getIndex();
-            setSelectedPositionInt(position);
-            if (null != mCarouselScrollListener) {
-                mCarouselScrollListener.onPositionChanged(position);
+            settleOnItem(item, angle);
+        }
+    }
+
+    /**
+     * Selects the front item once rotation is over.
+     * 
+     * @param item
+     *            front item
+     * @param angle
+     *            remaining angle of the item in range (-180, 180]
+     */
+    private void settleOnItem(CarouselItemHolder item, float angle) {
+        if (!mCarouselOptions.isCompatRotation() && (angle != 0.0f)) {
+            // Put the front item exactly in the center
+            trackMotionScroll(-angle);
+        }
+        int position = item.getIndex();
+        setSelectedPositionInt(position);
+        // Predicted position has been announced when the fling started
+        if ((null != mCarouselScrollListener) && (position != mFlingRunnable.mPredictedPosition)) {
+            mCarouselScrollListener.onPositionChanged(position);
+        }
+        mFlingRunnable.mPredictedPosition = INVALID_POSITION;
+        onFinishedMovement();
+        setScrollState(SCROLL_STATE_IDLE);
+    }
+
+    private void setScrollState(int scrollState) {
+        if (scrollState == mScrollState) {
+            return;
+        }
+        if (scrollState == SCROLL_STATE_IDLE) {
+            // Final position is reported before the carousel goes idle
+            dispatchScrolled(System.nanoTime());
+        }
+        mScrollState = scrollState;
+        if (null != mOnScrollStateListener) {
+            mOnScrollStateListener.onScrollStateChanged(this, scrollState);
+        }
+    }
+
+    /**
+     * Remembers rotation of items, it is reported once per frame.
+     */
+    private void onItemsScrolled(float deltaAngle) {
+        if (null == mOnScrollStateListener) {
+            return;
+        }
+        mPendingScrollAngle += deltaAngle;
+        if (!mScrollPending) {
+            mScrollPending = true;
+            FrameScheduler.getInstance().add(mScrolledDispatcher);
+        }
+    }
+
+    private void dispatchScrolled(long frameTimeNanos) {
+        if (!mScrollPending) {
+            return;
+        }
+        mScrollPending = false;
+        FrameScheduler.getInstance().remove(mScrolledDispatcher);
+        if ((null == mOnScrollStateListener) || (getChildCount() == 0)) {
+            mPendingScrollAngle = 0.0f;
+            return;
+        }
+
+        // Position grows as angles of items decrease
+        float velocity;
+        if ((mScrollState == SCROLL_STATE_SETTLING) && !mFlingRunnable.mRotator.isFinished()) {
+            velocity = mFlingRunnable.mRotator.getCurrVelocity();
+        } else {
+            long elapsed = frameTimeNanos - mLastScrolledNanos;
+            velocity = (elapsed > 0) && (elapsed < MAX_SCROLLED_INTERVAL_NANOS)
+                    ? -mPendingScrollAngle * 1e9f / elapsed : 0.0f;
+        }
+        mLastScrolledNanos = frameTimeNanos;
+        mPendingScrollAngle = 0.0f;
+        mOnScrollStateListener.onScrolled(this, getScrollPosition(), velocity);
+    }
+
+    /**
+     * @return fractional position of the front of the carousel, for example
+     *         2.5 if it is in the middle between items 2 and 3
+     */
+    private float getScrollPosition() {
+        float unitAngle = 360.0f / getAdapter().getCount();
+        float angle = ((CarouselItemHolder) getAdapter().getView(0, null, null)).getCurrentAngle();
+        return ((360.0f - angle) % 360.0f) / unitAngle;
+    }
+
+    /**
+     * @return rotations smaller than this angle aren't animated
+     */
+    private float getMinRotationAngle() {
+        return mCarouselOptions.isCompatRotation() ? 1.0f : CarouselConfigInfo.MIN_ROTATION_ANGLE;
+    }
+
+    /**
+     * Stops any rotation and puts the nearest item to the front at once. Used
+     * when the carousel can't be seen, so nothing is animated.
+     */
+    private void settleImmediately() {
+        // May be called by the super constructor, before fields are initialized
+        if ((null == mFlingRunnable) || mFlingRunnable.mRotator.isFinished()
+                || (getChildCount() == 0)) {
+            return;
+        }
+        mFlingRunnable.stop(false);
+
+        float angle = findNearestItem().getCurrentAngle();
+        if (angle > 180.0f)
+            angle = -(360.0f - angle);
+        trackMotionScroll(-angle);
+        scrollIntoSlots();
+    }
+
+    /**
+     * @return item nearest to the 0 degrees angle
+     */
+    private CarouselItemHolder findNearestItem() {
+        int smallestPos = 0;
+        float smallestAngle = 180;
+        float angle;
+        for (int i = 0; i < getAdapter().getCount(); i++) {
+            CarouselItemHolder item = (CarouselItemHolder) getAdapter().getView(i, null, null);
+            angle = item.getCurrentAngle();
+            if (angle > 180.0f)
+                angle = (360.0f - angle);
+            if (angle < smallestAngle) {
+                smallestAngle = angle;
+                smallestPos = i;
             }
-            onFinishedMovement();
         }
+        return (CarouselItemHolder) getAdapter().getView(smallestPos, null, null);
     }
 
     /**
@@ -692,20 +1607,11 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
 
         child.setSelected(index == mSelectedPosition);
 
-        int h;
-        int w;
-
-        if (mInLayout) {
-            w = child.getMeasuredWidth();
-            h = child.getMeasuredHeight();
-        } else {
-            w = child.getMeasuredWidth();
-            h = child.getMeasuredHeight();
-        }
-
-        // Measure child
-        child.measure(w, h);
+        // Child is measured by onMeasure(), which skips unchanged items
+        int w = child.getMeasuredWidth();
+        int h = child.getMeasuredHeight();
         child.layout(0, 0, w, h);
+        invalidateHitTest();
 
         if (mRelayoutAllowed) {
             child.setCurrentAngle(angleOffset);
@@ -726,7 +1632,11 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
             return;
         }
 
-        int newPositionOfCurrentItem = mSelectedPosition;
+        if (null != mLatencyTracker) {
+            mLatencyTracker.onAngleChanged();
+        }
+
+        int newPositionOfCurrentItem = getFrontPosition();
         float lowestAngleOffset = Integer.MAX_VALUE;
         for (int i = 0; i < getAdapter().getCount(); i++) {
             CarouselItemHolder child = (CarouselItemHolder) getAdapter().getView(i, null, null);
@@ -754,7 +1664,14 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
             }
         }
 
-        setSelectedPositionInt(newPositionOfCurrentItem);
+        if (mCarouselOptions.isDeferSelection()) {
+            // Selection side effects wait until the carousel settles
+            setFrontPosition(newPositionOfCurrentItem);
+        } else {
+            setSelectedPositionInt(newPositionOfCurrentItem);
+        }
+        invalidateHitTest();
+        onItemsScrolled(deltaAngle);
 
         // Clear unused views
         mRecycler.clear();
@@ -814,30 +1731,63 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         }
     }
 
-    private int getScrollDistance(final float distanceX) {
-        int result;
-        if (distanceX > 0) {
-            result = (int) Math.min(distanceX, mCarouselOptions.getMaxScrollingDistance());
+    /**
+     * Converts horizontal finger movement to rotation, so the front item
+     * moves exactly with the finger.
+     * 
+     * @param distanceX
+     *            distance in pixels
+     * @return angle in degrees
+     */
+    private float pixelsToDegrees(float distanceX) {
+        return distanceX * getDegreesPerPixel(distanceX);
+    }
+
+    /**
+     * Item translation is <code>x * (1 + k) + w / 2 * (1 - scale) + c</code>, where x is
+     * <code>r * (1 - sin(angle))</code> on the ring, k is the diameter scale of the
+     * projection and c doesn't depend on the angle. The scale falls by
+     * <code>DEPTH_SCALE / 2</code> per radian on both sides of the front, so the
+     * front item moves by <code>r * (1 + k) - w * DEPTH_SCALE / 4</code> pixels per
+     * radian when it rotates to the left and by <code>r * (1 + k) + w * DEPTH_SCALE / 4</code>
+     * when it rotates to the right.
+     * 
+     * @param distanceX
+     *            distance in pixels, positive when the finger moves to the left, only
+     *            its sign is used
+     * @return rotation in degrees which moves the front item by one pixel
+     */
+    private float getDegreesPerPixel(float distanceX) {
+        int itemWidth;
+        if (hasFixedItemSize()) {
+            itemWidth = mCarouselOptions.getPanelWidth();
         } else {
-            result = (int) Math.max(distanceX, -mCarouselOptions.getMaxScrollingDistance());
+            View selectedView = getSelectedView();
+            itemWidth = null != selectedView ? selectedView.getWidth() : 0;
         }
-        return result;
+        float radius = Math.max((mCarouselDiameter - itemWidth) / 2.0f, 1.0f);
+        float scaleTerm = itemWidth * CarouselConfigInfo.DEPTH_SCALE / 4.0f;
+        if (distanceX < 0.0f) {
+            scaleTerm = -scaleTerm;
+        }
+        float pixelsPerRadian = radius * (1.0f + mViewCoefficientHolder.mDiameterScale)
+                - scaleTerm;
+        return (float) Math.toDegrees(1.0 / Math.max(pixelsPerRadian, 1.0f));
     }
 
     private int getScrollVelocity(final float initialVelocity) {
         int result = 0;
         if(getCount() != 0) {
             if (initialVelocity > 0) {
-                result = (int) Math.min(initialVelocity, mCarouselOptions.getMaxScrollingVelocity() / getCount());
+                result = (int) Math.min(initialVelocity, mCarouselOptions.getMaxScrollingVelocity());
             } else {
-                result = (int) Math.max(initialVelocity, -mCarouselOptions.getMaxScrollingVelocity() / getCount());
+                result = (int) Math.max(initialVelocity, -mCarouselOptions.getMaxScrollingVelocity());
             }
         }
         return result;
     }
 
     private boolean sendDispatchTouchEventToChild(MotionEvent event) {
-        boolean result;
         if (0 == mItemCount) {
             return false;
         }
@@ -846,41 +1796,80 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         if (null == selectedView) {
         	return false;
         }
+        return mChildTouchDispatcher.dispatch(selectedView, event);
+    }
 
-        selectedView.setDispatchTouchEventEnable(true);
-
-        if (DisplayMetrics.DENSITY_TV == getResources().getDisplayMetrics().densityDpi) {
-            event.setLocation(event.getX() - (int) (selectedView.getItemX()),
-                    (event.getY() - (Math.abs(selectedView.getItemY()))));
-        } else {
-            event.setLocation(event.getX() - (int) (selectedView.getItemX()),
-                    ((event.getY() - (selectedView.getItemY()))));
+    /**
+     * Takes the gesture away from the selected item, the item gets a single
+     * cancel event per gesture.
+     */
+    private void cancelTouchOfChild(MotionEvent event) {
+        final CarouselItemHolder selectedView = (CarouselItemHolder) getSelectedView();
+        if ((0 != mItemCount) && (null != selectedView)) {
+            mChildTouchDispatcher.cancel(selectedView, event);
         }
-        result = selectedView.dispatchTouchEvent(event);
-        selectedView.setDispatchTouchEventEnable(false);
-
-        return result;
     }
 
     private final Matrix getChildTransformationMatrix(final CarouselItemHolder item,
             final Transformation transformation) {
         float scale = item.getItemScale();
-        float scaleXOff = item.getWidth() / 2.0f * (1.0f - scale);
-
-        float centerX = (float) getWidth() / 2;
-        scaleXOff += (item.getItemX() + item.getWidth() / 2 - centerX)
-                * mViewCoefficientHolder.mDiameterScale;
 
         final Matrix matrix = transformation.getMatrix();
-        matrix.setTranslate(item.getItemX() + scaleXOff, item.getItemY());
+        matrix.setTranslate(getItemTranslationX(item, item.getItemX(), scale), item.getItemY());
         matrix.preScale(scale, scale);
 
         return matrix;
     }
 
+    /**
+     * @return horizontal translation of a scaled item, which is at the given x
+     *         coordinate on the ring
+     */
+    private float getItemTranslationX(final CarouselItemHolder item, float itemX, float scale) {
+        float scaleXOff = item.getWidth() / 2.0f * (1.0f - scale);
+
+        float centerX = (float) getWidth() / 2;
+        scaleXOff += (itemX + item.getWidth() / 2 - centerX)
+                * mViewCoefficientHolder.mDiameterScale;
+        return itemX + scaleXOff;
+    }
+
     private void calculateItemPosition(final CarouselItemHolder child, float angleDegree) {
+        float[] position = mItemPosition;
+        if (hasFixedItemSize()) {
+            int slot = getRestSlot(angleDegree);
+            if (slot >= 0) {
+                System.arraycopy(mRestSlotPositions, slot * 4, position, 0, 4);
+            } else {
+                calculatePosition(angleDegree, mCarouselOptions.getPanelWidth(),
+                        mCarouselOptions.getPanelHeight(), position);
+            }
+        } else {
+            calculatePosition(angleDegree, child.getWidth(), child.getHeight(), position);
+        }
+
+        child.setItemX(position[0]);
+        child.setItemY(position[1]);
+        child.setItemZ(position[2]);
+        child.setItemScale(position[3]); // Shrink object as it goes deeper away.
+        child.setItemAlpha(angleDegree, mCarouselOptions.getMinAlpha());
+    }
+
+    /**
+     * Calculates position of an item on the ring.
+     * 
+     * @param angleDegree
+     *            angle of the item
+     * @param itemWidth
+     *            width of the item
+     * @param itemHeight
+     *            height of the item
+     * @param out
+     *            receives x, y, z and scale of the item
+     */
+    private void calculatePosition(float angleDegree, int itemWidth, int itemHeight, float[] out) {
         int leftPadding = (getWidth() - mCarouselDiameter) / 2;
-        int diameter = mCarouselDiameter - child.getWidth();
+        int diameter = mCarouselDiameter - itemWidth;
         float angleRadian = (float) Math.toRadians(angleDegree);
         float r = (float) (diameter / 2);
         float scale = calculateItemScale(angleRadian);
@@ -888,14 +1877,65 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         float x = r * (1.0f - (float)Math.sin(angleRadian));
         float z = r * -(float)Math.cos(angleRadian); // z = -r..r
 
-        float y = (getHeight() - child.getHeight()) / 2 + z * mViewCoefficientHolder.mTilt;
-        y -= child.getHeight() / 4 * (1 - scale);
+        float y = (getHeight() - itemHeight) / 2 + z * mViewCoefficientHolder.mTilt;
+        y -= itemHeight / 4 * (1 - scale);
 
-        child.setItemX(x + leftPadding);
-        child.setItemY(y);
-        child.setItemZ(z);
-        child.setItemScale(scale); // Shrink object as it goes deeper away.
-        child.setItemAlpha(angleDegree, mCarouselOptions.getMinAlpha());
+        out[0] = x + leftPadding;
+        out[1] = y;
+        out[2] = z;
+        out[3] = scale;
+    }
+
+    /**
+     * Applies fixed item size from the options.
+     */
+    private void applyPanelSize() {
+        setFixedItemSize(mCarouselOptions.getPanelWidth(), mCarouselOptions.getPanelHeight());
+        if (hasFixedItemSize() && (getWidth() > 0)) {
+            updateFixedGeometry(getWidth());
+        }
+    }
+
+    /**
+     * Calculates ring diameter for items of fixed size. Called once per size
+     * change of this view, positions of resting items are calculated on the
+     * next layout.
+     */
+    private void updateFixedGeometry(int width) {
+        mCarouselDiameter = Math.min(width, mCarouselOptions.getPanelWidth() * 2);
+        mRestSlotCount = 0;
+    }
+
+    /**
+     * Fills table of positions of items resting in slots of the ring.
+     */
+    private void buildRestSlots(int count) {
+        if (mRestSlotPositions.length < count * 4) {
+            mRestSlotPositions = new float[count * 4];
+        }
+        float angleUnit = 360.0f / count;
+        for (int slot = 0; slot < count; slot++) {
+            calculatePosition(angleUnit * slot, mCarouselOptions.getPanelWidth(),
+                    mCarouselOptions.getPanelHeight(), mItemPosition);
+            System.arraycopy(mItemPosition, 0, mRestSlotPositions, slot * 4, 4);
+        }
+        mRestSlotCount = count;
+    }
+
+    /**
+     * @return slot of the ring for the angle, or -1 if an item at this angle
+     *         is between slots
+     */
+    private int getRestSlot(float angleDegree) {
+        if (mRestSlotCount == 0) {
+            return -1;
+        }
+        float slot = angleDegree * mRestSlotCount / 360.0f;
+        int nearestSlot = Math.round(slot);
+        if (Math.abs(slot - nearestSlot) > 0.001f) {
+            return -1;
+        }
+        return nearestSlot % mRestSlotCount;
     }
 
     private float calculateItemScale(float angleRadian) {
@@ -961,6 +2001,87 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
 
     }
 
+    /**
+     * Keeps data source items bound around the selected view when the
+     * selection moves along the ring.
+     */
+    private void onSelectedItemMoved(int oldPosition, int newPosition) {
+        if ((null == mItemLoader) || (newPosition < 0)) {
+            return;
+        }
+        if (oldPosition >= 0) {
+            mSelectedDataPosition = mItemLoader.wrapPosition(mSelectedDataPosition
+                    + getRingOffset(oldPosition, newPosition));
+        }
+        bindDataSourceItems();
+        mItemLoader.setCenter(mSelectedDataPosition);
+    }
+
+    /**
+     * @return the shortest signed distance in items from one position of the
+     *         ring to another
+     */
+    private int getRingOffset(int fromPosition, int toPosition) {
+        int count = mCarouselItems.size();
+        int offset = ((toPosition - fromPosition) % count + count) % count;
+        return offset > count / 2 ? offset - count : offset;
+    }
+
+    private int getDataSourceItemCount() {
+        return Math.min(mItemLoader.getCount(), mCarouselOptions.getMaxQuantity());
+    }
+
+    private void createDataSourceItems() {
+        mCarouselItems.clear();
+        if (null != mItemLoader) {
+            CarouselDataSource<?> dataSource = mItemLoader.getDataSource();
+            for (int i = getDataSourceItemCount(); i > 0; i--) {
+                addViewToList(dataSource.newView(getContext()), mEmptyClickListener);
+            }
+        }
+        notifyDataSetChanged();
+
+        if ((null != mItemLoader) && (getFrontPosition() >= 0)) {
+            bindDataSourceItems();
+            mItemLoader.setCenter(mSelectedDataPosition);
+        }
+    }
+
+    /**
+     * Binds to every view the data source item, which corresponds to its
+     * offset from the selected view. Views already showing the right item are
+     * skipped, so during rotation only views passing the back of the ring are
+     * rebound.
+     */
+    private void bindDataSourceItems() {
+        bindDataSourceItems(false);
+    }
+
+    /**
+     * Binds items to data positions around the selected data position.
+     * 
+     * @param keepSelected
+     *            <code>true</code> to leave the selected item bound as it is
+     */
+    private void bindDataSourceItems(boolean keepSelected) {
+        int frontPosition = getFrontPosition();
+        if ((null == mItemLoader) || (frontPosition < 0)) {
+            return;
+        }
+        for (int i = 0; i < mCarouselItems.size(); i++) {
+            if (keepSelected && (i == frontPosition)) {
+                continue;
+            }
+            CarouselItemHolder item = mCarouselItems.get(i);
+            int dataPosition = mItemLoader.wrapPosition(mSelectedDataPosition
+                    + getRingOffset(frontPosition, i));
+            if (dataPosition != item.getDataPosition()) {
+                item.setDataPosition(dataPosition,
+                        mItemLoader.bind(item.getContentView(), dataPosition));
+            }
+        }
+    }
+
     private void initCarouselAdapter() {
         mCarouselItems = new ArrayList<>();
         mAdapter = new CarouselItemAdapter(mCarouselItems);
@@ -975,22 +2096,11 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         mIsSingleTapUp = false;
     }
 
-    private void restoreGestureDetectorState(MotionEvent event) {
-        mRelayoutAllowed = false;
-        if ((event.getAction() == MotionEvent.ACTION_UP)
-                || (event.getAction() == MotionEvent.ACTION_CANCEL)) {
-            if (!mOnFlingStarted) {
-                mIsHorizontalScroll = true;
-                onUp();
-                mRelayoutAllowed = true;
-            } else {
-                mOnFlingStarted = false;
-            }
-        }
+    private void addViewToList(View childView, OnClickListener onClickListener) {
+        addItemToList(new CarouselItemHolder(getContext(), childView), onClickListener);
     }
 
-    private void addViewToList(View childView, OnClickListener onClickListener) {
-        CarouselItemHolder carouselItem = new CarouselItemHolder(getContext(), childView);
+    private void addItemToList(CarouselItemHolder carouselItem, OnClickListener onClickListener) {
         carouselItem.setIndex(mCarouselItems.size());
         carouselItem.setDispatchTouchEventEnable(false);
         carouselItem.setOnItemClickListener(onClickListener);
@@ -1005,8 +2115,8 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         mViewCoefficientHolder = getViewCoefficient();
 
         // Making user gestures available
-        mGestureDetector = new GestureDetector(this.getContext(), this);
-        mIsHorizontalScroll = true;
+        mGestureRecognizer = new CarouselGestureRecognizer(this, new GestureListener());
+        setNestedScrollingEnabled(true);
 
         // It's needed to apply 3D transforms to items
         // before they are drawn
@@ -1015,13 +2125,46 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         // Initialize image adapter
         initCarouselAdapter();
         initSelectedPosition();
+        applyPanelSize();
+        applyRotatorOptions();
+    }
+
+    /**
+     * @return item steps of a navigation key, <code>0</code> for other keys.
+     *         The item on the left has the next index.
+     */
+    private static int getKeyDirection(int keyCode) {
+        switch (keyCode) {
+        case KeyEvent.KEYCODE_DPAD_LEFT:
+            return 1;
+        case KeyEvent.KEYCODE_DPAD_RIGHT:
+            return -1;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Helpers are created lazily, the platform may call nested scrolling
+     * methods from the super constructor.
+     */
+    private NestedScrollingChildHelper getNestedScrollingChildHelper() {
+        if (null == mNestedScrollingChildHelper) {
+            mNestedScrollingChildHelper = new NestedScrollingChildHelper(this);
+        }
+        return mNestedScrollingChildHelper;
     }
 
-    private MotionEvent cancelTouch(MotionEvent ev) {
-        MotionEvent cancel = MotionEvent.obtain(ev);
-        cancel.setAction(MotionEvent.ACTION_CANCEL);
+    private NestedScrollingParentHelper getNestedScrollingParentHelper() {
+        if (null == mNestedScrollingParentHelper) {
+            mNestedScrollingParentHelper = new NestedScrollingParentHelper(this);
+        }
+        return mNestedScrollingParentHelper;
+    }
 
-        return cancel;
+    private void applyRotatorOptions() {
+        mFlingRunnable.mRotator.setCompatMode(mCarouselOptions.isCompatRotation());
+        mFlingRunnable.mRotator.setFlingFriction(mCarouselOptions.getFlingFriction());
     }
 
     private void initSelectedPosition() {
@@ -1040,17 +2183,10 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
     }
 
     private final void setMatrixToCarouselHolder(final CarouselItemHolder item, final Matrix matrix) {
-        Matrix mm = new Matrix(matrix);
-
-        item.setCIMatrix(mm);
-        Matrix outputMatrix = item.getCIMatrix();
-        /*
-         * Reuse matrices.
-         */
-        if (null == outputMatrix) {
-            outputMatrix = new Matrix();
+        // The holder copies the matrix into its own instance
+        if (item.setCIMatrix(matrix)) {
+            invalidateHitTest();
         }
-        item.setCIMatrix(outputMatrix);
     }
 
     /**
@@ -1121,12 +2257,13 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
     }
 
     /**
-     * Rotation class for the Carousel.
+     * Rotation class for the Carousel. Steps are driven by {@link FrameScheduler}
+     * once per display frame.
      * 
      * @author ???
      * @author Nazar Ivanchuk
      */
-    private class FlingRotateRunnable implements Runnable {
+    private class FlingRotateRunnable implements FrameScheduler.FrameClient {
 
         /**
          * Tracks the decay of a fling rotation
@@ -1138,16 +2275,132 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
          */
         private float mLastFlingAngle;
 
+        /**
+         * Resting item of the running predictive fling, announced when the
+         * fling started
+         */
+        private int mPredictedPosition = INVALID_POSITION;
+
+        /**
+         * Resting item of the running predictive fling
+         */
+        private CarouselItemHolder mPredictedItem;
+
+        /**
+         * Navigation steps which will retarget the rotation in the next frame
+         */
+        private int mPendingSteps;
+
+        /**
+         * Item the running navigation rotates to
+         */
+        private int mNavigationTarget = INVALID_POSITION;
+
         /**
          * Constructor
          */
         private FlingRotateRunnable() {
-            mRotator = new Rotator();
+            mRotator = new Rotator(getContext());
         }
 
         private void startCommon() {
             // Remove any pending flings
-            removeCallbacks(this);
+            FrameScheduler.getInstance().remove(this);
+            mPredictedItem = null;
+            // A new rotation announces its own resting item
+            mPredictedPosition = INVALID_POSITION;
+            mNavigationTarget = INVALID_POSITION;
+            setScrollState(SCROLL_STATE_SETTLING);
+        }
+
+        /**
+         * Accumulates navigation steps, they are applied by the next frame.
+         */
+        private void navigateBy(int steps) {
+            mPendingSteps += steps;
+            FrameScheduler.getInstance().add(this);
+        }
+
+        /**
+         * Accumulates navigation steps, but keeps the target at most the given
+         * quantity of items ahead of the front item. Steps beyond the limit
+         * are dropped.
+         * 
+         * @return <code>false</code> if all steps have been dropped
+         */
+        private boolean navigateBy(int steps, int maxLead) {
+            int lead = getNavigationLead();
+            if (steps > 0) {
+                steps = Math.max(0, Math.min(steps, maxLead - lead));
+            } else {
+                steps = Math.min(0, Math.max(steps, -maxLead - lead));
+            }
+            if (steps == 0) {
+                return false;
+            }
+            navigateBy(steps);
+            return true;
+        }
+
+        /**
+         * @return quantity of items the navigation target is ahead of the
+         *         front item, negative when rotating backward
+         */
+        private int getNavigationLead() {
+            int lead = mPendingSteps;
+            if ((mNavigationTarget != INVALID_POSITION) && !mRotator.isFinished()
+                    && (getChildCount() > 0)) {
+                float unitAngle = 360.0f / getAdapter().getCount();
+                lead += Math.round((mRotator.getFinalAngle() - mLastFlingAngle) / unitAngle);
+            }
+            return lead;
+        }
+
+        /**
+         * Retargets the rotation by the pending navigation steps, starting
+         * with the velocity of the current rotation.
+         */
+        private void applyPendingSteps() {
+            int steps = mPendingSteps;
+            mPendingSteps = 0;
+            if (getChildCount() == 0) {
+                return;
+            }
+
+            int count = getAdapter().getCount();
+            float unitAngle = 360.0f / count;
+            float remaining;
+            float velocity;
+            int base;
+            if ((mNavigationTarget != INVALID_POSITION) && !mRotator.isFinished()) {
+                // Continue from the target of the running navigation
+                remaining = mRotator.getFinalAngle() - mLastFlingAngle;
+                velocity = mRotator.getCurrVelocity();
+                base = mNavigationTarget;
+            } else {
+                velocity = mRotator.getCurrVelocity();
+                CarouselItemHolder front = findNearestItem();
+                remaining = front.getCurrentAngle();
+                if (remaining > 180.0f)
+                    remaining = -(360.0f - remaining);
+                base = front.getIndex();
+            }
+            remaining += steps * unitAngle;
+
+            int target = (base + steps) % count;
+            if (target < 0) {
+                target += count;
+            }
+
+            startCommon();
+            mLastFlingAngle = 0.0f;
+            // Longer distances take longer, but not proportionally
+            int duration = (int) (mCarouselOptions.getAnimationDuration()
+                    * Math.sqrt(Math.max(1.0f, Math.abs(remaining) / unitAngle)));
+            mRotator.retarget(remaining, velocity, duration);
+            mNavigationTarget = target;
+            mPredictedItem = (CarouselItemHolder) getAdapter().getView(target, null, null);
+            FrameScheduler.getInstance().add(this);
         }
 
         private void startUsingVelocity(float initialVelocity) {
@@ -1156,27 +2409,67 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
 
             initialVelocity = getScrollVelocity(initialVelocity);
             startCommon();
+            // Fling continues with the angular velocity of the drag, the drag
+            // distance is opposite to the velocity
+            mRotator.setDegreesPerPixel(getDegreesPerPixel(-initialVelocity));
 
             mLastFlingAngle = 0.0f;
-            mRotator.fling(initialVelocity);
+            if (mCarouselOptions.isPredictiveFling() && (getChildCount() > 0)) {
+                startPredictiveFling(initialVelocity);
+            } else {
+                mRotator.fling(initialVelocity);
+            }
+
+            FrameScheduler.getInstance().add(this);
+        }
 
-            post(this);
+        /**
+         * Rounds the natural resting angle of the fling to the nearest slot and
+         * decelerates straight into it.
+         */
+        private void startPredictiveFling(float initialVelocity) {
+            CarouselItemHolder front = findNearestItem();
+            float frontAngle = front.getCurrentAngle();
+            if (frontAngle > 180.0f)
+                frontAngle = -(360.0f - frontAngle);
+
+            // Item k slots after the front one rests in the center after
+            // rotating by frontAngle + k * unitAngle
+            int count = getAdapter().getCount();
+            float unitAngle = 360.0f / count;
+            float distance = mRotator.getFlingDistance(initialVelocity);
+            int slots = Math.round((distance - frontAngle) / unitAngle);
+            mRotator.flingTo(initialVelocity, frontAngle + slots * unitAngle,
+                    mCarouselOptions.getAnimationDuration());
+
+            int position = (front.getIndex() + slots) % count;
+            if (position < 0) {
+                position += count;
+            }
+            mPredictedItem = (CarouselItemHolder) getAdapter().getView(position, null, null);
+            mPredictedPosition = position;
+            if (null != mCarouselScrollListener) {
+                mCarouselScrollListener.onPositionChanged(position);
+            }
         }
 
         private void startUsingDistance(float deltaAngle) {
-            if (Math.abs(deltaAngle) < 1)
-                return; // Ignore rotation request if less than 1 degree.
+            if (Math.abs(deltaAngle) < getMinRotationAngle())
+                return; // Ignore rotation request if less than min angle.
 
             startCommon();
 
             mLastFlingAngle = 0;
             mRotator.startRotate(0.0f, -deltaAngle, mCarouselOptions.getAnimationDuration());
-            post(this);
+            FrameScheduler.getInstance().add(this);
         }
 
         private void stop(boolean scrolling) {
-            removeCallbacks(this);
+            FrameScheduler.getInstance().remove(this);
+            mPendingSteps = 0;
             endFling(scrolling);
+            // An interrupted fling doesn't settle on the announced item
+            mPredictedPosition = INVALID_POSITION;
         }
 
         private void endFling(boolean scrolling) {
@@ -1185,35 +2478,57 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
              */
             mRotator.forceFinished(true);
 
-            if (scrolling)
+            CarouselItemHolder predictedItem = mPredictedItem;
+            mPredictedItem = null;
+            mNavigationTarget = INVALID_POSITION;
+            if (!scrolling) {
+                return;
+            }
+            if ((null != predictedItem) && (getChildCount() > 0)) {
+                // Fling has landed on the predicted slot, no need to search
+                float angle = predictedItem.getCurrentAngle();
+                if (angle > 180.0f)
+                    angle = -(360.0f - angle);
+                settleOnItem(predictedItem, angle);
+            } else {
                 scrollIntoSlots();
+            }
         }
 
         @Override
-        public void run() {
+        public boolean doFrame(long frameTimeNanos) {
+            if (mPendingSteps != 0) {
+                applyPendingSteps();
+                if (mRotator.isFinished()) {
+                    return false;
+                }
+            }
             invalidateChildren();
             if (CarouselView.this.getChildCount() == 0) {
                 endFling(true);
-                return;
+                return !mRotator.isFinished();
             }
 
             mShouldStopFling = false;
 
-            boolean more = mRotator.computeAngleOffset();
+            boolean more = mRotator.computeAngleOffset(frameTimeNanos);
             float angle = mRotator.getCurrAngle();
 
             // Flip sign to convert finger direction to list items direction
             // (e.g. finger moving down means list is moving towards the top)
             float delta = mLastFlingAngle - angle;
             trackMotionScroll(delta);
+            // Report the frame without waiting for the next one
+            dispatchScrolled(frameTimeNanos);
 
             if (more && !mShouldStopFling) {
                 mLastFlingAngle = angle;
-                post(this);
             } else {
                 mLastFlingAngle = 0.0f;
+                // May start snapping to the nearest slot
                 endFling(true);
             }
+            return !mRotator.isFinished();
         }
     }
 
@@ -1250,6 +2565,123 @@ public class CarouselView extends CarouselSpinner implements GestureDetector.OnG
         }
     }
 
+    /**
+     * Factory of carousel item views, which are built on a worker thread.
+     * 
+     * @author Carousel View
+     * 
+     */
+    public interface CarouselItemFactory {
+
+        /**
+         * Creates an item view. Called on a worker thread, so it shouldn't
+         * touch views attached to a window. It is called again on the main
+         * thread if inflation fails with {@link android.view.InflateException},
+         * other exceptions are rethrown on the main thread.
+         * 
+         * @param inflater
+         *            layout inflater of the carousel's context, views should
+         *            be created with its context
+         * @return item view
+         */
+        View createView(LayoutInflater inflater);
+    }
+
+    /**
+     * Factory of carousel item views which can only be created on the main
+     * thread, e.g. views creating a handler in constructor. Views are still
+     * attached in the order they were added.
+     * 
+     * @author Carousel View
+     * 
+     */
+    public interface MainThreadItemFactory extends CarouselItemFactory {
+    }
+
+    /**
+     * Callback interface intended to notify about the item nearest to the
+     * front during motion.
+     * 
+     * @author Carousel View
+     * 
+     */
+    public interface OnFrontItemChangedListener {
+
+        /**
+         * Called when another item comes to the front, possibly many times
+         * during a single fling. Must be cheap, it is called while the
+         * carousel is animating.
+         * 
+         * @param position
+         *            position of the front item
+         */
+        void onFrontItemChanged(int position);
+    }
+
+    /**
+     * Callback interface intended to report input latency of the carousel.
+     * 
+     * @author Carousel View
+     * 
+     */
+    public interface OnLatencyListener {
+
+        /**
+         * Called every 32 new samples of a kind with percentiles of the latest
+         * 128 samples.
+         * 
+         * @param carouselView
+         *            measured carousel view
+         * @param kind
+         *            {@link CarouselView#LATENCY_INPUT} or
+         *            {@link CarouselView#LATENCY_FLING}
+         * @param p50Millis
+         *            median latency in milliseconds
+         * @param p90Millis
+         *            90th percentile in milliseconds
+         * @param p99Millis
+         *            99th percentile in milliseconds
+         * @param sampleCount
+         *            quantity of samples the percentiles are computed from
+         */
+        void onLatencyReport(CarouselView carouselView, int kind, float p50Millis,
+                float p90Millis, float p99Millis, int sampleCount);
+    }
+
+    /**
+     * Callback interface intended to notify about motion of the carousel.
+     * 
+     * @author Carousel View
+     * 
+     */
+    public interface OnScrollStateListener {
+
+        /**
+         * Called when the carousel starts or stops moving.
+         * 
+         * @param carouselView
+         *            carousel view whose scroll state has changed
+         * @param scrollState
+         *            one of {@link CarouselView#SCROLL_STATE_IDLE},
+         *            {@link CarouselView#SCROLL_STATE_DRAGGING} or
+         *            {@link CarouselView#SCROLL_STATE_SETTLING}
+         */
+        void onScrollStateChanged(CarouselView carouselView, int scrollState);
+
+        /**
+         * Called at most once per frame while the carousel moves.
+         * 
+         * @param carouselView
+         *            carousel view which has been scrolled
+         * @param position
+         *            fractional position of the front, in range 0..count
+         * @param angularVelocity
+         *            velocity in degrees per second, positive if the position
+         *            grows
+         */
+        void onScrolled(CarouselView carouselView, float position, float angularVelocity);
+    }
+
     /**
      * Callback interface intended to notify about the fact that selected
      * position was changed.
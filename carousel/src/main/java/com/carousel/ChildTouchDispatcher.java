@@ -0,0 +1,82 @@
+package com.carousel;
+
+import android.graphics.Matrix;
+import android.view.MotionEvent;
+
+/**
+ * Forwards touch events of the carousel to an item. Events are translated
+ * into item's coordinates through the inverse of its transformation, so the
+ * content gets the same coordinates as if the item weren't scaled. The
+ * caller's event is never modified: a copy is taken from the platform's pool
+ * of events and recycled right after dispatching.
+ *
+ * @author Carousel View
+ */
+final class ChildTouchDispatcher {
+
+    /**
+     * Set once the gesture has been cancelled for the item.
+     */
+    private boolean mCancelled;
+
+    /**
+     * Starts a new gesture, must be called on every down event.
+     */
+    void reset() {
+        mCancelled = false;
+    }
+
+    /**
+     * Forwards the event to the item unless the gesture has been cancelled.
+     *
+     * @param item
+     *            item which receives the event
+     * @param event
+     *            event in carousel's coordinates, left untouched
+     * @return <code>true</code> if the item has consumed the event
+     */
+    boolean dispatch(CarouselItemHolder item, MotionEvent event) {
+        if (mCancelled) {
+            return false;
+        }
+        return dispatch(item, event, event.getAction());
+    }
+
+    /**
+     * Sends a cancel event to the item, only the first call of a gesture
+     * sends anything.
+     *
+     * @param item
+     *            item which has received the gesture
+     * @param event
+     *            any event of the gesture in carousel's coordinates
+     */
+    void cancel(CarouselItemHolder item, MotionEvent event) {
+        if (mCancelled) {
+            return;
+        }
+        mCancelled = true;
+        dispatch(item, event, MotionEvent.ACTION_CANCEL);
+    }
+
+    /* ***************************************************************************** */
+    /* ******************************** Utility API ******************************** */
+    /* ***************************************************************************** */
+
+    private static boolean dispatch(CarouselItemHolder item, MotionEvent event, int action) {
+        MotionEvent local = MotionEvent.obtain(event);
+        local.setAction(action);
+        local.offsetLocation(-item.getLeft(), -item.getTop());
+        Matrix inverse = item.getInverseCIMatrix();
+        if (null != inverse) {
+            local.transform(inverse);
+        }
+
+        item.setDispatchTouchEventEnable(true);
+        boolean result = item.dispatchTouchEvent(local);
+        item.setDispatchTouchEventEnable(false);
+
+        local.recycle();
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+package com.carousel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.view.Choreographer;
+
+/**
+ * Runs rotation animations of all carousel views once per display frame.
+ * Every carousel on the screen shares a single {@link Choreographer} frame
+ * callback, which is posted only while some animation is running. Must be used
+ * on the main thread only.
+ *
+ * @author Carousel View
+ */
+final class FrameScheduler implements Choreographer.FrameCallback {
+
+    private static FrameScheduler sInstance;
+
+    private final List<FrameClient> mClients = new ArrayList<FrameClient>();
+
+    /**
+     * Copy of clients for dispatching, clients may be added or removed while
+     * a frame is dispatched.
+     */
+    private FrameClient[] mDispatchClients = new FrameClient[4];
+
+    private boolean mFramePosted;
+
+    private FrameScheduler() {
+        /* Singleton */
+    }
+
+    /**
+     * @return frame scheduler of the main thread
+     */
+    static FrameScheduler getInstance() {
+        if (null == sInstance) {
+            sInstance = new FrameScheduler();
+        }
+        return sInstance;
+    }
+
+    /**
+     * Starts delivering frames to the client, does nothing if it is already
+     * receiving frames.
+     */
+    void add(FrameClient client) {
+        if (!mClients.contains(client)) {
+            mClients.add(client);
+        }
+        if (!mFramePosted) {
+            mFramePosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Stops delivering frames to the client.
+     */
+    void remove(FrameClient client) {
+        mClients.remove(client);
+        if (mClients.isEmpty() && mFramePosted) {
+            mFramePosted = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the client receives frames
+     */
+    boolean contains(FrameClient client) {
+        return mClients.contains(client);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mFramePosted = false;
+
+        int count = mClients.size();
+        if (mDispatchClients.length < count) {
+            mDispatchClients = new FrameClient[count];
+        }
+        FrameClient[] clients = mClients.toArray(mDispatchClients);
+
+        for (int i = 0; i < count; i++) {
+            FrameClient client = clients[i];
+            clients[i] = null;
+            if (mClients.contains(client) && !client.doFrame(frameTimeNanos)) {
+                mClients.remove(client);
+            }
+        }
+
+        if (!mClients.isEmpty() && !mFramePosted) {
+            mFramePosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Receives display frames.
+     */
+    interface FrameClient {
+
+        /**
+         * Called once per display frame.
+         *
+         * @param frameTimeNanos
+         *            time of the frame in {@link System#nanoTime()} base
+         * @return <code>true</code> to receive the next frame too
+         */
+        boolean doFrame(long frameTimeNanos);
+    }
+}
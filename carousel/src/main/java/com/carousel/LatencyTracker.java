@@ -0,0 +1,154 @@
+package com.carousel;
+
+import java.util.Arrays;
+
+/**
+ * Measures time from input to the first frame which draws its result. Two
+ * kinds of latency are measured: from a touch event to the drawing of the
+ * rotation it causes, and from the start of a fling to the drawing of its
+ * first animated frame. Samples are kept in ring buffers and percentiles are
+ * reported every {@link #REPORT_INTERVAL} samples. Nothing is allocated per
+ * sample. Must be used on the main thread only.
+ *
+ * @author Carousel View
+ */
+final class LatencyTracker {
+
+    /**
+     * Quantity of the latest samples percentiles are computed from.
+     */
+    static final int CAPACITY = 128;
+
+    /**
+     * Quantity of new samples between two reports.
+     */
+    static final int REPORT_INTERVAL = 32;
+
+    private final CarouselView mCarouselView;
+    private final CarouselView.OnLatencyListener mListener;
+
+    private final Samples[] mSamples = new Samples[] {
+            new Samples(), new Samples()
+    };
+
+    /**
+     * Sorted copy of samples, reused by every report.
+     */
+    private final long[] mSorted = new long[CAPACITY];
+
+    LatencyTracker(CarouselView carouselView, CarouselView.OnLatencyListener listener) {
+        mCarouselView = carouselView;
+        mListener = listener;
+    }
+
+    /**
+     * An input event which moves the carousel has been received. Only the
+     * oldest event waiting to be drawn is measured.
+     *
+     * @param eventTimeNanos
+     *            time of the event in {@link System#nanoTime()} base
+     */
+    void onInput(long eventTimeNanos) {
+        mSamples[CarouselView.LATENCY_INPUT].start(eventTimeNanos);
+    }
+
+    /**
+     * A fling has started, a previous fling waiting to be drawn is dropped.
+     */
+    void onFlingStarted(long timeNanos) {
+        Samples fling = mSamples[CarouselView.LATENCY_FLING];
+        fling.cancel();
+        fling.start(timeNanos);
+    }
+
+    /**
+     * Drops input waiting to be drawn, e.g. when a gesture starts.
+     */
+    void cancel() {
+        for (Samples samples : mSamples) {
+            samples.cancel();
+        }
+    }
+
+    /**
+     * Items have been moved, started measurements wait for the next drawing.
+     */
+    void onAngleChanged() {
+        for (Samples samples : mSamples) {
+            samples.mChanged |= samples.mStartNanos != 0;
+        }
+    }
+
+    /**
+     * The carousel has been drawn.
+     */
+    void onFrameDrawn(long timeNanos) {
+        for (int kind = 0; kind < mSamples.length; kind++) {
+            Samples samples = mSamples[kind];
+            if (!samples.mChanged) {
+                continue;
+            }
+            samples.add(timeNanos - samples.mStartNanos);
+            samples.cancel();
+            if (samples.mSinceReport >= REPORT_INTERVAL) {
+                samples.mSinceReport = 0;
+                report(kind, samples);
+            }
+        }
+    }
+
+    /* ***************************************************************************** */
+    /* ******************************** Utility API ******************************** */
+    /* ***************************************************************************** */
+
+    private void report(int kind, Samples samples) {
+        int count = samples.mCount;
+        System.arraycopy(samples.mValues, 0, mSorted, 0, count);
+        Arrays.sort(mSorted, 0, count);
+        mListener.onLatencyReport(mCarouselView, kind, getPercentileMillis(count, 0.5f),
+                getPercentileMillis(count, 0.9f), getPercentileMillis(count, 0.99f), count);
+    }
+
+    /**
+     * @return nearest-rank percentile of sorted samples in milliseconds
+     */
+    private float getPercentileMillis(int count, float fraction) {
+        int index = Math.max(0, (int) Math.ceil(fraction * count) - 1);
+        return mSorted[index] / 1000000.0f;
+    }
+
+    /**
+     * Ring buffer of latencies of one kind.
+     */
+    private static final class Samples {
+
+        private final long[] mValues = new long[CAPACITY];
+        private int mNext;
+        private int mCount;
+        private int mSinceReport;
+
+        /**
+         * Start of the measurement in progress, <code>0</code> if none.
+         */
+        private long mStartNanos;
+        private boolean mChanged;
+
+        private void start(long timeNanos) {
+            if (mStartNanos == 0) {
+                mStartNanos = timeNanos;
+            }
+        }
+
+        private void cancel() {
+            mStartNanos = 0;
+            mChanged = false;
+        }
+
+        private void add(long latencyNanos) {
+            mValues[mNext] = latencyNanos;
+            mNext = (mNext + 1) % CAPACITY;
+            mCount = Math.min(mCount + 1, CAPACITY);
+            mSinceReport++;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.carousel;
+
+import java.util.List;
+
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.View;
+
+/**
+ * Loads pages of a {@link CarouselDataSource} asynchronously and keeps only a
+ * window of pages around the selected item in memory. Positions wrap around
+ * the end of the data source, because the carousel is a ring.
+ *
+ * @author Carousel View
+ */
+final class PagedItemLoader<T> {
+
+    private static final String TAG = "PagedItemLoader";
+
+    private final CarouselDataSource<T> mDataSource;
+    private final OnPageLoadedListener mOnPageLoadedListener;
+    private final int mPageSize;
+    private final int mPrefetchPages;
+
+    /**
+     * Loaded pages by page index.
+     */
+    private final SparseArray<List<T>> mPages = new SparseArray<List<T>>();
+
+    /**
+     * Pages which are being loaded now.
+     */
+    private final SparseBooleanArray mPendingPages = new SparseBooleanArray();
+
+    /**
+     * Incremented on every data set change, so late results of stale loads
+     * are dropped.
+     */
+    private int mGeneration;
+
+    private int mCount;
+    private int mCenterPage = -1;
+    private boolean mReleased;
+
+    PagedItemLoader(CarouselDataSource<T> dataSource, int pageSize, int prefetchPages,
+            OnPageLoadedListener onPageLoadedListener) {
+        mDataSource = dataSource;
+        mPageSize = pageSize;
+        mPrefetchPages = prefetchPages;
+        mOnPageLoadedListener = onPageLoadedListener;
+        mCount = dataSource.getCount();
+    }
+
+    /**
+     * @return quantity of items in the data source
+     */
+    int getCount() {
+        return mCount;
+    }
+
+    CarouselDataSource<T> getDataSource() {
+        return mDataSource;
+    }
+
+    /**
+     * Wraps any position into the range of the data source.
+     */
+    int wrapPosition(int position) {
+        if (mCount == 0) {
+            return CarouselAdapter.INVALID_POSITION;
+        }
+        int result = position % mCount;
+        return result < 0 ? result + mCount : result;
+    }
+
+    /**
+     * @return loaded item or <code>null</code> if its page is not loaded yet
+     */
+    T getItem(int position) {
+        List<T> page = mPages.get(position / mPageSize);
+        if (null == page) {
+            return null;
+        }
+        int index = position % mPageSize;
+        return index < page.size() ? page.get(index) : null;
+    }
+
+    /**
+     * Binds the item at the given position to the view, or a placeholder if
+     * the item is not loaded yet.
+     *
+     * @return <code>true</code> if a loaded item was bound
+     */
+    boolean bind(View view, int position) {
+        T item = getItem(position);
+        if (null != item) {
+            mDataSource.bindView(view, item, position);
+            return true;
+        }
+        mDataSource.bindPlaceholder(view, position);
+        return false;
+    }
+
+    /**
+     * Moves the window of loaded pages, so it is centered around the given
+     * position. Pages out of the window are dropped, missing pages are
+     * requested starting from the closest one.
+     */
+    void setCenter(int position) {
+        if (mReleased || mCount == 0) {
+            return;
+        }
+        int centerPage = wrapPosition(position) / mPageSize;
+        if (centerPage == mCenterPage) {
+            return;
+        }
+        mCenterPage = centerPage;
+
+        for (int i = mPages.size() - 1; i >= 0; i--) {
+            if (!isInWindow(mPages.keyAt(i))) {
+                mPages.removeAt(i);
+            }
+        }
+
+        int pageCount = getPageCount();
+        int window = Math.min(mPrefetchPages, pageCount / 2);
+        requestPage(centerPage);
+        for (int distance = 1; distance <= window; distance++) {
+            requestPage(wrapPage(centerPage + distance));
+            requestPage(wrapPage(centerPage - distance));
+        }
+    }
+
+    /**
+     * Drops all loaded pages and reloads the window around the last center.
+     */
+    void reload() {
+        mGeneration++;
+        mPages.clear();
+        mPendingPages.clear();
+        mCount = mDataSource.getCount();
+
+        int center = mCenterPage * mPageSize;
+        mCenterPage = -1;
+        setCenter(Math.max(center, 0));
+    }
+
+    /**
+     * Stops delivering results, pages being loaded are dropped.
+     */
+    void release() {
+        mReleased = true;
+        mGeneration++;
+        mPages.clear();
+        mPendingPages.clear();
+    }
+
+    /* ***************************************************************************** */
+    /* ******************************** Utility API ******************************** */
+    /* ***************************************************************************** */
+
+    private int getPageCount() {
+        return (mCount + mPageSize - 1) / mPageSize;
+    }
+
+    private int wrapPage(int page) {
+        int pageCount = getPageCount();
+        int result = page % pageCount;
+        return result < 0 ? result + pageCount : result;
+    }
+
+    private boolean isInWindow(int page) {
+        if (mCenterPage < 0) {
+            return false;
+        }
+        int distance = Math.abs(page - mCenterPage);
+        distance = Math.min(distance, getPageCount() - distance);
+        return distance <= mPrefetchPages;
+    }
+
+    private void requestPage(final int page) {
+        if ((null != mPages.get(page)) || mPendingPages.get(page)) {
+            return;
+        }
+        mPendingPages.put(page, true);
+
+        final int generation = mGeneration;
+        final int offset = page * mPageSize;
+        final int limit = Math.min(mPageSize, mCount - offset);
+        CarouselExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                List<T> result;
+                try {
+                    result = mDataSource.loadPage(offset, limit);
+                } catch (RuntimeException e) {
+                    // Items of the page stay on placeholders
+                    Log.w(TAG, "Failed to load items " + offset + ".." + (offset + limit), e);
+                    result = null;
+                }
+                final List<T> items = result;
+                CarouselExecutors.mainThread().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onPageLoaded(generation, page, items);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @param items
+     *            loaded items, <code>null</code> if loading has failed
+     */
+    private void onPageLoaded(int generation, int page, List<T> items) {
+        if (mReleased || generation != mGeneration) {
+            return;
+        }
+        // A failed page may be requested again
+        mPendingPages.delete(page);
+        if ((null == items) || !isInWindow(page)) {
+            // Loading has failed, or selection has gone away meanwhile
+            return;
+        }
+        mPages.put(page, items);
+        mOnPageLoadedListener.onPageLoaded(page * mPageSize, items.size());
+    }
+
+    /**
+     * Callback interface to be notified when a page has been loaded.
+     */
+    interface OnPageLoadedListener {
+
+        /**
+         * @param firstPosition
+         *            position of the first loaded item
+         * @param count
+         *            quantity of loaded items
+         */
+        void onPageLoaded(int firstPosition, int count);
+    }
+}
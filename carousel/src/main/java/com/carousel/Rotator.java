@@ -1,13 +1,22 @@
 package com.carousel;
 
-import android.view.animation.AnimationUtils;
+import java.util.concurrent.TimeUnit;
+
+import android.content.Context;
 
 /**
  * This class encapsulates rotation. The duration of the rotation can be passed in the constructor
  * and specifies the maximum time that the rotation animation should take. Past this time, the
  * rotation is automatically moved to its final stage and computeRotationOffset() will always return
  * false to indicate that scrolling is over.
- * 
+ * <p>
+ * By default angles are continuous and time is measured in nanoseconds, so every display frame
+ * gets its own angle at any refresh rate. In compatibility mode angles are rounded to whole
+ * degrees and time to milliseconds, as in the original implementation.
+ * <p>
+ * Flings decelerate along a precomputed spline, like the platform scroller, so each frame costs
+ * one table lookup.
+ *
  * @author Carousel View
  */
 
@@ -18,24 +27,142 @@ class Rotator {
     private float mCurrAngleDeg;
     private float mDeltaAngleDeg;
 
-    private long mStartMillis;
-    private long mDurationMillis;
+    /**
+     * Current velocity in degrees per second, may be negative.
+     */
+    private float mCurrVelocity;
+
+    /**
+     * Initial velocity of a retargeted rotation in degrees per second.
+     */
+    private float mVelocity;
+
+    private long mStartNanos;
+    private long mDurationNanos;
 
     private boolean mFinished;
+    private boolean mCompatMode;
 
-    private float mVelocity;
-    private final float mCoeffVelocity = 0.05f;
+    /**
+     * Rotation in degrees caused by fling of one pixel.
+     */
+    private float mDegreesPerPixel = DEGREES_PER_PIXEL;
+
+    private float mFlingFriction = CarouselConfigInfo.FLING_FRICTION;
+
+    /**
+     * Deceleration caused by friction, in pixels per second squared.
+     */
+    private final float mPhysicalCoeff;
+
+    private static final float DEGREES_PER_PIXEL = 0.05f;
 
-    private static final float DECELERATION = 240.0f;
     private static final int SCROLL_MODE = 0;
     private static final int FLING_MODE = 1;
+    private static final int RETARGET_MODE = 2;
+
+    /*
+     * Spline of fling deceleration, same as of the platform scroller.
+     */
+    private static final float GRAVITY_EARTH = 9.80665f;
+    private static final float INCHES_PER_METER = 39.37f;
+    private static final float DECELERATION_RATE = (float) (Math.log(0.78) / Math.log(0.9));
+    private static final float INFLEXION = 0.35f;
+    private static final float START_TENSION = 0.5f;
+    private static final float END_TENSION = 1.0f;
+    private static final float P1 = START_TENSION * INFLEXION;
+    private static final float P2 = 1.0f - END_TENSION * (1.0f - INFLEXION);
+
+    private static final int NB_SAMPLES = 100;
 
     /**
-     * Create a Scroller with the specified interpolator. If the interpolator is null, the default
-     * (viscous) interpolator will be used.
+     * Travelled fraction of distance by elapsed fraction of time.
      */
-    Rotator() {
+    private static final float[] SPLINE_POSITION = new float[NB_SAMPLES + 1];
+
+    static {
+        float xMin = 0.0f;
+        for (int i = 0; i < NB_SAMPLES; i++) {
+            final float alpha = (float) i / NB_SAMPLES;
+
+            float xMax = 1.0f;
+            float x, tx, coef;
+            while (true) {
+                x = xMin + (xMax - xMin) / 2.0f;
+                coef = 3.0f * x * (1.0f - x);
+                tx = coef * ((1.0f - x) * P1 + x * P2) + x * x * x;
+                if (Math.abs(tx - alpha) < 1E-5) {
+                    break;
+                }
+                if (tx > alpha) {
+                    xMax = x;
+                } else {
+                    xMin = x;
+                }
+            }
+            SPLINE_POSITION[i] = coef * ((1.0f - x) * START_TENSION + x) + x * x * x;
+        }
+        SPLINE_POSITION[NB_SAMPLES] = 1.0f;
+    }
+
+    /**
+     * Create a Rotator.
+     *
+     * @param context
+     *            context used to get the screen density
+     */
+    Rotator(Context context) {
+        this(context.getResources().getDisplayMetrics().density);
+    }
+
+    /**
+     * Create a Rotator.
+     *
+     * @param density
+     *            logical density of the screen
+     */
+    Rotator(float density) {
         mFinished = true;
+        float ppi = density * 160.0f;
+        mPhysicalCoeff = GRAVITY_EARTH * INCHES_PER_METER * ppi * 0.84f;
+    }
+
+    /**
+     * Switches between continuous angles with nanosecond time and whole degrees with millisecond
+     * time.
+     *
+     * @param compatMode
+     *            <code>true</code> to round angles to whole degrees
+     */
+    final void setCompatMode(boolean compatMode) {
+        mCompatMode = compatMode;
+    }
+
+    /**
+     * @return True if angles are rounded to whole degrees.
+     */
+    final boolean isCompatMode() {
+        return mCompatMode;
+    }
+
+    /**
+     * Sets the rotation caused by fling of one pixel, flings decelerate in pixels.
+     *
+     * @param degreesPerPixel
+     *            angle in degrees, must be positive
+     */
+    final void setDegreesPerPixel(float degreesPerPixel) {
+        mDegreesPerPixel = degreesPerPixel;
+    }
+
+    /**
+     * The amount of friction applied to flings.
+     *
+     * @param friction
+     *            A scalar dimension-less value representing the coefficient of friction.
+     */
+    final void setFlingFriction(float friction) {
+        mFlingFriction = friction;
     }
 
     /**
@@ -61,7 +188,7 @@ class Rotator {
      * @return The duration of the scroll in milliseconds.
      */
     final long getDuration() {
-        return mDurationMillis;
+        return TimeUnit.NANOSECONDS.toMillis(mDurationNanos);
     }
 
     /**
@@ -74,12 +201,20 @@ class Rotator {
     }
 
     /**
-     * @hide Returns the current velocity.
-     * 
-     * @return The original velocity less the deceleration. Result may be negative.
+     * Returns the current velocity.
+     *
+     * @return The velocity in degrees per second as of the last computed frame. Result may be
+     *         negative.
      */
     float getCurrVelocity() {
-        return mCoeffVelocity * mVelocity - DECELERATION * elapsedMillis();
+        return mFinished ? 0.0f : mCurrVelocity;
+    }
+
+    /**
+     * @return The angle where the rotation ends.
+     */
+    final float getFinalAngle() {
+        return mStartAngleDeg + mDeltaAngleDeg;
     }
 
     /**
@@ -97,39 +232,61 @@ class Rotator {
      * @return The elapsed time in milliseconds.
      */
     int elapsedMillis() {
-        return (int) (AnimationUtils.currentAnimationTimeMillis() - mStartMillis);
+        return (int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mStartNanos);
     }
 
     /**
      * Call this when you want to know the new location. If it returns true, the animation is not
      * yet finished. loc will be altered to provide the new location.
+     * 
+     * @param frameTimeNanos
+     *            time of the frame being drawn, in {@link System#nanoTime()} time base
      */
-    boolean computeAngleOffset() {
+    boolean computeAngleOffset(long frameTimeNanos) {
         if (mFinished) {
             return false;
         }
 
-        long systemClock = AnimationUtils.currentAnimationTimeMillis();
-        long timePassed = systemClock - mStartMillis;
+        long timePassed = Math.max(0, frameTimeNanos - mStartNanos);
+        if (mCompatMode) {
+            timePassed = TimeUnit.MILLISECONDS.toNanos(TimeUnit.NANOSECONDS.toMillis(timePassed));
+        }
 
-        if (timePassed < mDurationMillis) {
+        if (timePassed < mDurationNanos) {
+            float t = (float) timePassed / mDurationNanos;
+            float durationSeconds = mDurationNanos / (float) TimeUnit.SECONDS.toNanos(1);
+            float distance;
             switch (mMode) {
-            case SCROLL_MODE:
+            case FLING_MODE:
 
-                float sc = (float) timePassed / mDurationMillis;
-                mCurrAngleDeg = mStartAngleDeg + Math.round(mDeltaAngleDeg * sc);
+                // One lookup in the spline table per frame
+                int index = (int) (NB_SAMPLES * t);
+                distance = mDeltaAngleDeg * getFlingProgress(t);
+                mCurrVelocity = mDeltaAngleDeg * (SPLINE_POSITION[index + 1] - SPLINE_POSITION[index])
+                        * NB_SAMPLES / durationSeconds;
                 break;
 
-            case FLING_MODE:
+            case RETARGET_MODE:
+
+                distance = getRetargetDistance(t);
+                // Derivative of the Hermite curve
+                mCurrVelocity = (3.0f * t * t - 4.0f * t + 1.0f) * mVelocity
+                        + (6.0f * t - 6.0f * t * t) * mDeltaAngleDeg / durationSeconds;
+                break;
 
-                float timePassedSeconds = timePassed / 1000.0f;
-                float distance = mCoeffVelocity * mVelocity * timePassedSeconds
-                        - (DECELERATION * timePassedSeconds * timePassedSeconds / 2.0f);
-                mCurrAngleDeg = mStartAngleDeg + Math.round(distance);
+            default:
+
+                distance = mDeltaAngleDeg * t;
+                mCurrVelocity = mDeltaAngleDeg / durationSeconds;
                 break;
             }
+            mCurrAngleDeg = mStartAngleDeg + (mCompatMode ? Math.round(distance) : distance);
             return true; // return true because animation still running
         } else {
+            if (mMode != SCROLL_MODE) {
+                // Land exactly on the target
+                mCurrAngleDeg = mStartAngleDeg + mDeltaAngleDeg;
+            }
             mFinished = true;
             return false;
         }
@@ -141,20 +298,44 @@ class Rotator {
      * @param startAngleDeg
      *            Starting angle in degrees.
      * @param dAngleDeg
-     *            Delta angle to rotate, must be >= 1 degree because rotation engine rounds step
-     *            size.
+     *            Delta angle to rotate, must be >= 1 degree in compatibility mode because
+     *            rotation engine rounds step size.
      * @param durationMillis
      *            Duration of the scroll in milliseconds.
      */
     void startRotate(float startAngleDeg, float dAngleDeg, int durationMillis) {
         mMode = SCROLL_MODE;
         mFinished = false;
-        mDurationMillis = durationMillis;
-        mStartMillis = AnimationUtils.currentAnimationTimeMillis();
+        mDurationNanos = TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        mStartNanos = System.nanoTime();
         mStartAngleDeg = startAngleDeg;
         mDeltaAngleDeg = dAngleDeg;
     }
 
+    /**
+     * Start rotating towards a new target while keeping the current velocity, so a rotation can
+     * be retargeted without a visible restart. The rotation follows a cubic Hermite curve which
+     * starts with the given velocity and stops at the target.
+     *
+     * @param dAngleDeg
+     *            Delta angle to rotate
+     * @param startVelocity
+     *            Velocity at the start in degrees per second, typically
+     *            {@link #getCurrVelocity()} of the interrupted rotation.
+     * @param durationMillis
+     *            Duration of the rotation in milliseconds.
+     */
+    void retarget(float dAngleDeg, float startVelocity, int durationMillis) {
+        mMode = RETARGET_MODE;
+        mFinished = false;
+        mDurationNanos = TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        mStartNanos = System.nanoTime();
+        mStartAngleDeg = 0.0f;
+        mCurrAngleDeg = 0.0f;
+        mDeltaAngleDeg = dAngleDeg;
+        mVelocity = startVelocity;
+    }
+
     /**
      * Start scrolling based on a fling gesture. The distance traveled will depend on the initial
      * velocity of the fling.
@@ -163,15 +344,95 @@ class Rotator {
      *            Initial velocity of the fling (X) measured in pixels per second.
      */
     void fling(float velocityAngle) {
+        flingTo(velocityAngle, getFlingDistance(velocityAngle), 0);
+    }
+
+    /**
+     * Returns the distance a fling with the given initial velocity travels until it stops.
+     * 
+     * @param velocityAngle
+     *            Initial velocity of the fling measured in pixels per second.
+     * @return The distance in degrees, has the sign of the velocity.
+     */
+    float getFlingDistance(float velocityAngle) {
+        if (velocityAngle == 0.0f) {
+            return 0.0f;
+        }
+        double l = getSplineDeceleration(velocityAngle);
+        double decelMinusOne = DECELERATION_RATE - 1.0;
+        double distance = mFlingFriction * mPhysicalCoeff
+                * Math.exp(DECELERATION_RATE / decelMinusOne * l);
+        return Math.signum(velocityAngle) * (float) distance * mDegreesPerPixel;
+    }
+
+    /**
+     * Start a fling which decelerates along the same spline as a free fling, but stops exactly
+     * after the given distance. The fling lasts as long as a free fling of that distance.
+     * 
+     * @param velocityAngle
+     *            Initial velocity of the fling measured in pixels per second.
+     * @param dAngleDeg
+     *            Delta angle to rotate
+     * @param minDurationMillis
+     *            Min duration of the fling in milliseconds.
+     */
+    void flingTo(float velocityAngle, float dAngleDeg, int minDurationMillis) {
         mMode = FLING_MODE;
-        mFinished = false;
+        mFinished = dAngleDeg == 0.0f;
+        mStartAngleDeg = 0.0f;
+        mCurrAngleDeg = 0.0f;
+        mDeltaAngleDeg = dAngleDeg;
+        mDurationNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(
+                getSplineFlingDurationMillis(Math.abs(dAngleDeg) / mDegreesPerPixel),
+                minDurationMillis));
+        mStartNanos = System.nanoTime();
+    }
 
-        float velocity = velocityAngle;
+    /**
+     * Returns the travelled fraction of a fling distance.
+     * 
+     * @param timeFraction
+     *            elapsed fraction of the fling duration
+     * @return fraction of the fling distance
+     */
+    static float getFlingProgress(float timeFraction) {
+        if (timeFraction >= 1.0f) {
+            return 1.0f;
+        }
+        int index = (int) (NB_SAMPLES * Math.max(timeFraction, 0.0f));
+        float tInf = (float) index / NB_SAMPLES;
+        float dInf = SPLINE_POSITION[index];
+        return dInf + (timeFraction - tInf) * (SPLINE_POSITION[index + 1] - dInf) * NB_SAMPLES;
+    }
+
+    /* ***************************************************************************** */
+    /* ******************************** Utility API ******************************** */
+    /* ***************************************************************************** */
 
-        mVelocity = velocity;
-        mDurationMillis = (int) (250.0f * Math.sqrt(2.0f * mCoeffVelocity * Math.abs(velocity)
-                / DECELERATION));
+    private float getRetargetDistance(float t) {
+        float durationSeconds = mDurationNanos / (float) TimeUnit.SECONDS.toNanos(1);
+        float t2 = t * t;
+        float t3 = t2 * t;
+        return (t3 - 2.0f * t2 + t) * durationSeconds * mVelocity
+                + (3.0f * t2 - 2.0f * t3) * mDeltaAngleDeg;
+    }
+
+    private double getSplineDeceleration(float velocity) {
+        return Math.log(INFLEXION * Math.abs(velocity) / (mFlingFriction * mPhysicalCoeff));
+    }
 
-        mStartMillis = AnimationUtils.currentAnimationTimeMillis();
+    /**
+     * @param distance
+     *            distance of a free fling in pixels
+     * @return duration of the fling in milliseconds
+     */
+    private long getSplineFlingDurationMillis(float distance) {
+        if (distance <= 0.0f) {
+            return 0;
+        }
+        double decelMinusOne = DECELERATION_RATE - 1.0;
+        double l = Math.log(distance / (mFlingFriction * mPhysicalCoeff)) * decelMinusOne
+                / DECELERATION_RATE;
+        return (long) (1000.0 * Math.exp(l / decelMinusOne));
     }
 }
@@ -0,0 +1,105 @@
+package com.carousel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LatencyTrackerTest {
+
+    private static final float DELTA = 0.001f;
+
+    private final List<float[]> mReports = new ArrayList<>();
+    private LatencyTracker mTracker;
+    private long mNowNanos;
+
+    @Before
+    public void setUp() throws Exception {
+        mTracker = new LatencyTracker(null, new CarouselView.OnLatencyListener() {
+            @Override
+            public void onLatencyReport(CarouselView carouselView, int kind, float p50Millis,
+                    float p90Millis, float p99Millis, int sampleCount) {
+                mReports.add(new float[] {
+                        kind, p50Millis, p90Millis, p99Millis, sampleCount
+                });
+            }
+        });
+        mNowNanos = 1000000000L;
+    }
+
+    @Test
+    public void reportsEveryIntervalSamples() throws Exception {
+        for (int i = 1; i < LatencyTracker.REPORT_INTERVAL; i++) {
+            addInputSample(i);
+        }
+        assertEquals(0, mReports.size());
+
+        addInputSample(LatencyTracker.REPORT_INTERVAL);
+        assertEquals(1, mReports.size());
+        assertEquals(CarouselView.LATENCY_INPUT, (int) mReports.get(0)[0]);
+        assertEquals(LatencyTracker.REPORT_INTERVAL, (int) mReports.get(0)[4]);
+
+        for (int i = 1; i < 2 * LatencyTracker.REPORT_INTERVAL; i++) {
+            addInputSample(i);
+        }
+        assertEquals(2, mReports.size());
+        assertEquals(2 * LatencyTracker.REPORT_INTERVAL, (int) mReports.get(1)[4]);
+    }
+
+    @Test
+    public void reportsNearestRankPercentiles() throws Exception {
+        for (int i = 1; i <= LatencyTracker.CAPACITY; i++) {
+            addInputSample(i);
+        }
+
+        float[] report = mReports.get(mReports.size() - 1);
+        assertEquals(64.0f, report[1], DELTA);
+        assertEquals(116.0f, report[2], DELTA);
+        assertEquals(127.0f, report[3], DELTA);
+        assertEquals(LatencyTracker.CAPACITY, (int) report[4]);
+    }
+
+    @Test
+    public void keepsOnlyLatestSamples() throws Exception {
+        for (int i = 0; i < LatencyTracker.CAPACITY; i++) {
+            addInputSample(1);
+        }
+        // Three quarters of the buffer are overwritten
+        for (int i = 0; i < 3 * LatencyTracker.CAPACITY / 4; i++) {
+            addInputSample(1000);
+        }
+
+        float[] report = mReports.get(mReports.size() - 1);
+        assertEquals(1000.0f, report[1], DELTA);
+        assertEquals(1000.0f, report[3], DELTA);
+        assertEquals(LatencyTracker.CAPACITY, (int) report[4]);
+    }
+
+    @Test
+    public void measuresKindsSeparately() throws Exception {
+        for (int i = 0; i < LatencyTracker.REPORT_INTERVAL; i++) {
+            mTracker.onFlingStarted(mNowNanos);
+            mTracker.onAngleChanged();
+            mNowNanos += 5000000L;
+            mTracker.onFrameDrawn(mNowNanos);
+        }
+
+        assertEquals(1, mReports.size());
+        assertEquals(CarouselView.LATENCY_FLING, (int) mReports.get(0)[0]);
+        assertEquals(5.0f, mReports.get(0)[1], DELTA);
+    }
+
+    /* ***************************************************************************** */
+    /* ******************************** Utility API ******************************** */
+    /* ***************************************************************************** */
+
+    private void addInputSample(int latencyMillis) {
+        mTracker.onInput(mNowNanos);
+        mTracker.onAngleChanged();
+        mNowNanos += latencyMillis * 1000000L;
+        mTracker.onFrameDrawn(mNowNanos);
+    }
+}
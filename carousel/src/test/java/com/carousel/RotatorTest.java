@@ -0,0 +1,149 @@
+package com.carousel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class RotatorTest {
+
+    private static final float DELTA = 0.001f;
+
+    private static final float DENSITY = 2.0f;
+    private static final float DEGREES_PER_PIXEL = 0.1f;
+
+    /**
+     * Fling velocity in pixels per second
+     */
+    private static final float VELOCITY = 3000.0f;
+
+    private Rotator mRotator;
+
+    @Before
+    public void setUp() throws Exception {
+        mRotator = new Rotator(DENSITY);
+        mRotator.setDegreesPerPixel(DEGREES_PER_PIXEL);
+    }
+
+    @Test
+    public void flingDistanceScalesWithDegreesPerPixel() throws Exception {
+        float distance = mRotator.getFlingDistance(VELOCITY);
+        assertTrue(distance > 0.0f);
+        assertEquals(-distance, mRotator.getFlingDistance(-VELOCITY), DELTA);
+        assertEquals(0.0f, mRotator.getFlingDistance(0.0f), DELTA);
+
+        mRotator.setDegreesPerPixel(2.0f * DEGREES_PER_PIXEL);
+        assertEquals(2.0f * distance, mRotator.getFlingDistance(VELOCITY), DELTA);
+    }
+
+    @Test
+    public void flingStartsWithVelocityOfGesture() throws Exception {
+        mRotator.fling(VELOCITY);
+
+        // Time before the start of the rotation is the start itself
+        assertTrue(mRotator.computeAngleOffset(0));
+        assertEquals(VELOCITY * DEGREES_PER_PIXEL, mRotator.getCurrVelocity(),
+                0.01f * VELOCITY * DEGREES_PER_PIXEL);
+    }
+
+    @Test
+    public void flingStopsAtFlingDistance() throws Exception {
+        float distance = mRotator.getFlingDistance(VELOCITY);
+        mRotator.fling(VELOCITY);
+        assertFalse(mRotator.isFinished());
+        assertEquals(distance, mRotator.getFinalAngle(), DELTA);
+
+        float lastAngle = 0.0f;
+        for (long time = 0; mRotator.computeAngleOffset(getFrameTime(time)); time += 16) {
+            float angle = mRotator.getCurrAngle();
+            assertTrue("Fling turns back at " + time + " ms", angle >= lastAngle);
+            assertTrue("Fling overshoots at " + time + " ms", angle <= distance + DELTA);
+            lastAngle = angle;
+        }
+
+        assertTrue(mRotator.isFinished());
+        assertEquals(distance, mRotator.getCurrAngle(), DELTA);
+        assertEquals(0.0f, mRotator.getCurrVelocity(), DELTA);
+    }
+
+    @Test
+    public void flingToStopsAtGivenDistance() throws Exception {
+        float distance = 0.5f * mRotator.getFlingDistance(VELOCITY);
+        mRotator.flingTo(VELOCITY, distance, 0);
+        assertEquals(distance, mRotator.getFinalAngle(), DELTA);
+
+        finish();
+        assertEquals(distance, mRotator.getCurrAngle(), DELTA);
+
+        int minDurationMillis = (int) mRotator.getDuration() + 100;
+        mRotator.flingTo(VELOCITY, distance, minDurationMillis);
+        assertEquals(minDurationMillis, mRotator.getDuration());
+    }
+
+    @Test
+    public void retargetKeepsVelocityOfInterruptedRotation() throws Exception {
+        mRotator.fling(VELOCITY);
+        mRotator.computeAngleOffset(getFrameTime(mRotator.getDuration() / 4));
+        float angle = mRotator.getCurrAngle();
+        float velocity = mRotator.getCurrVelocity();
+        assertTrue(velocity > 0.0f);
+
+        float target = angle + 90.0f;
+        mRotator.retarget(target - angle, velocity, 300);
+        assertEquals(target - angle, mRotator.getFinalAngle(), DELTA);
+
+        assertTrue(mRotator.computeAngleOffset(0));
+        assertEquals(0.0f, mRotator.getCurrAngle(), DELTA);
+        assertEquals(velocity, mRotator.getCurrVelocity(), DELTA);
+
+        finish();
+        assertEquals(target - angle, mRotator.getCurrAngle(), DELTA);
+        assertEquals(0.0f, mRotator.getCurrVelocity(), DELTA);
+    }
+
+    @Test
+    public void retargetStopsSmoothly() throws Exception {
+        mRotator.retarget(90.0f, 400.0f, 300);
+
+        // Velocity falls to zero at the target
+        mRotator.computeAngleOffset(getFrameTime(295));
+        assertTrue(Math.abs(mRotator.getCurrVelocity()) < 0.05f * 400.0f);
+        assertEquals(90.0f, mRotator.getCurrAngle(), 0.5f);
+    }
+
+    @Test
+    public void rotationReportsItsFinalAngle() throws Exception {
+        mRotator.startRotate(10.0f, 30.0f, 200);
+        assertEquals(40.0f, mRotator.getFinalAngle(), DELTA);
+        assertEquals(200, mRotator.getDuration());
+
+        mRotator.flingTo(VELOCITY, -45.0f, 0);
+        assertEquals(-45.0f, mRotator.getFinalAngle(), DELTA);
+
+        mRotator.retarget(-45.0f, 100.0f, 200);
+        assertEquals(-45.0f, mRotator.getFinalAngle(), DELTA);
+
+        // Zero distance leaves nothing to animate
+        mRotator.flingTo(VELOCITY, 0.0f, 0);
+        assertTrue(mRotator.isFinished());
+        assertEquals(0.0f, mRotator.getFinalAngle(), DELTA);
+    }
+
+    /* ***************************************************************************** */
+    /* ******************************** Utility API ******************************** */
+    /* ***************************************************************************** */
+
+    /**
+     * @return frame time at least the given time after the start of the rotation
+     */
+    private static long getFrameTime(long millis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private void finish() {
+        mRotator.computeAngleOffset(getFrameTime(mRotator.getDuration()));
+        assertTrue(mRotator.isFinished());
+    }
+}